@@ -0,0 +1,117 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic benchmark documents of a given sentence count.
+ */
+final class Corpus {
+
+    static final String SYNTHETIC = "synthetic";
+    static final String SAMPLE = "sample";
+
+    private static final long SEED = 42L;
+
+    private static final String[] SUBJECTS = {
+            "The committee", "A researcher", "The company", "Local residents", "The city council", "The museum",
+            "A small team", "The farmers", "The hospital", "Engineers", "The weather service", "Several students",
+            "The library", "Volunteers", "The government", "A new study"
+    };
+    private static final String[] VERBS = {
+            "announced", "reviewed", "published", "proposed", "rejected", "supported", "measured", "described",
+            "questioned", "completed", "expanded", "funded", "delayed", "tested", "improved", "discussed"
+    };
+    private static final String[] ADJECTIVES = {
+            "new", "detailed", "expensive", "local", "early", "important", "annual", "regional", "small",
+            "public", "careful", "long", "final", "recent", "difficult", "simple"
+    };
+    private static final String[] OBJECTS = {
+            "plan", "report", "budget", "survey", "project", "schedule", "building", "agreement", "experiment",
+            "program", "forecast", "collection", "proposal", "system", "policy", "route"
+    };
+    private static final String[] PHRASES = {
+            "after a long meeting", "before the end of the year", "despite strong objections",
+            "with help from the university", "during the storm", "in the northern region",
+            "for the third time", "without much public debate", "to reduce costs", "over the next five years",
+            "in response to rising demand", "at the request of the mayor"
+    };
+
+    private Corpus() {
+    }
+
+    /**
+     * Returns a document with exactly the given number of sentences.
+     *
+     * @param name      {@link #SYNTHETIC} for generated sentences or {@link #SAMPLE} for the bundled news text.
+     * @param sentences The number of sentences.
+     * @return The document text.
+     */
+    static String of(String name, int sentences) {
+        return switch (name) {
+            case SYNTHETIC -> synthetic(sentences);
+            case SAMPLE -> sample(sentences);
+            default -> throw new IllegalArgumentException("Unknown corpus: " + name);
+        };
+    }
+
+    // Template sentences over a small vocabulary, so similarity between sentences is realistic but not uniform
+    private static String synthetic(int sentences) {
+        Random random = new Random(SEED);
+        StringBuilder text = new StringBuilder(sentences * 80);
+        for (int i = 0; i < sentences; i++) {
+            text.append(pick(random, SUBJECTS)).append(' ')
+                    .append(pick(random, VERBS)).append(" the ")
+                    .append(pick(random, ADJECTIVES)).append(' ')
+                    .append(pick(random, OBJECTS));
+            if (random.nextBoolean()) {
+                text.append(' ').append(pick(random, PHRASES));
+            }
+            if (random.nextInt(3) == 0) {
+                text.append(" and ").append(pick(random, VERBS)).append(" its ")
+                        .append(pick(random, ADJECTIVES)).append(' ').append(pick(random, OBJECTS));
+            }
+            text.append(". ");
+        }
+        return text.toString().trim();
+    }
+
+    // The bundled sample text, repeated or truncated to the requested length
+    private static String sample(int sentences) {
+        List<String> lines = readSample();
+        StringBuilder text = new StringBuilder(sentences * 100);
+        for (int i = 0; i < sentences; i++) {
+            text.append(lines.get(i % lines.size())).append(' ');
+        }
+        return text.toString().trim();
+    }
+
+    private static List<String> readSample() {
+        try (InputStream in = Corpus.class.getResourceAsStream("/corpus/sample.txt")) {
+            if (in == null) {
+                throw new IllegalStateException("Sample corpus not found at /corpus/sample.txt");
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            List<String> lines = new ArrayList<>();
+            for (String line; (line = reader.readLine()) != null; ) {
+                if (!line.isBlank()) {
+                    lines.add(line.trim());
+                }
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String pick(Random random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
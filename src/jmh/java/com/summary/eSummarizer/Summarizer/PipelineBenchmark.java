@@ -0,0 +1,132 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.Preprocessor.AnnotatedSentence;
+import com.summary.eSummarizer.Preprocessor.Preprocessor;
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import com.summary.eSummarizer.Service.LemmatizationService;
+import com.summary.eSummarizer.Service.LexiconService;
+import com.summary.eSummarizer.Service.OpenNLPModels;
+import com.summary.eSummarizer.Service.POSService;
+import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks each stage of the summarization pipeline and the end-to-end run.
+ * Every stage gets the previous stages' output for the same document, prepared
+ * once per trial, so each measurement covers only its own stage. Run with
+ * {@code -prof gc} (the default jmh.args of the jmh profile) to get the
+ * allocation rate per stage.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+public class PipelineBenchmark {
+
+    @Param({Corpus.SYNTHETIC, Corpus.SAMPLE})
+    public String corpus;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int sentences;
+
+    private Preprocessor preprocessor;
+    private TextRankSummarizer summarizer;
+
+    private String text;
+    private List<String> originalSentences;
+    private List<AnnotatedSentence> annotatedSentences;
+    private TokenStream tokenStream;
+    private InvertedIndex tfidfIndex;
+    private SimilarityMatrix similarities;
+    private SentenceGraph graph;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same wiring and defaults as the application context, including the shared lemma cache
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PipelineMetrics metrics = new PipelineMetrics(meterRegistry);
+        OpenNLPModels models = new OpenNLPModels(meterRegistry);
+        POSService posService = new POSService(models, 0);
+        LemmatizationService lemmatizationService =
+                new LemmatizationService(posService, models, meterRegistry, 0, 100_000);
+        LexiconService lexiconService = new LexiconService(new CSVLoaderService(), "", Duration.ZERO);
+        preprocessor = new Preprocessor(lexiconService, lemmatizationService, posService, models, metrics, 0);
+        summarizer = new TextRankSummarizer(preprocessor, metrics, IdfTable.EMPTY);
+
+        text = Corpus.of(corpus, sentences);
+        originalSentences = preprocessor.tokenizeSentences(text);
+        annotatedSentences = preprocessor.annotateSentences(originalSentences);
+        tokenStream = TokenStream.of(annotatedSentences);
+        tfidfIndex = summarizer.calculateTFIDFVectors(tokenStream);
+        similarities = SimilarityMatrix.compute(tfidfIndex);
+        graph = summarizer.buildGraph(summarizer.determineDynamicThreshold(similarities), similarities);
+    }
+
+    @Benchmark
+    public List<String> tokenizeSentences() {
+        return preprocessor.tokenizeSentences(text);
+    }
+
+    // Tokenizes, POS tags and lemmatizes each sentence: the tagger runs here, once per sentence
+    @Benchmark
+    public List<String> removeStopwordsAndLemmatize() {
+        return preprocessor.removeStopwordsAndLemmatize(originalSentences);
+    }
+
+    // Collects the content-word tags from the annotations
+    @Benchmark
+    public List<List<String>> tagPartsOfSpeech() {
+        return preprocessor.tagPartsOfSpeech(annotatedSentences);
+    }
+
+    // Interns the content lemmas into the term ids every later stage reads
+    @Benchmark
+    public TokenStream buildTokenStream() {
+        return TokenStream.of(annotatedSentences);
+    }
+
+    @Benchmark
+    public InvertedIndex calculateTFIDFVectors() {
+        return summarizer.calculateTFIDFVectors(tokenStream);
+    }
+
+    @Benchmark
+    public SimilarityMatrix computeSimilarities() {
+        return SimilarityMatrix.compute(tfidfIndex);
+    }
+
+    @Benchmark
+    public SentenceGraph buildGraph() {
+        return summarizer.buildGraph(summarizer.determineDynamicThreshold(similarities), similarities);
+    }
+
+    @Benchmark
+    public double[] rankSentences() {
+        return summarizer.rankSentences(graph);
+    }
+
+    @Benchmark
+    public SummaryInfo summarize() {
+        return summarizer.summarize(text, true);
+    }
+}
@@ -0,0 +1,64 @@
+package com.summary.eSummarizer.Utils;
+
+import opennlp.tools.tokenize.TokenizerME;
+import opennlp.tools.tokenize.TokenizerModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares leasing OpenNLP tokenizers from an {@link InstancePool} with sharing one
+ * tokenizer behind a {@code synchronized} block, under concurrent callers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-benchmark.xml")
+@Threads(Threads.MAX)
+public class InstancePoolBenchmark {
+
+    private static final String SENTENCE =
+            "Researchers at the university have published a study on the migration patterns of songbirds.";
+
+    private InstancePool<TokenizerME> pool;
+    private TokenizerME shared;
+
+    @Setup
+    public void setUp() throws IOException {
+        TokenizerModel model;
+        try (InputStream in = getClass().getResourceAsStream("/models/openNLP/en-token.bin")) {
+            if (in == null) {
+                throw new IllegalStateException("Tokenizer model not found at /models/openNLP/en-token.bin");
+            }
+            model = new TokenizerModel(in);
+        }
+        pool = new InstancePool<>(InstancePool.resolveSize(0), () -> new TokenizerME(model));
+        shared = new TokenizerME(model);
+    }
+
+    @Benchmark
+    public String[] pooled() {
+        return pool.withInstance(tokenizer -> tokenizer.tokenize(SENTENCE));
+    }
+
+    @Benchmark
+    public String[] synchronizedShared() {
+        synchronized (shared) {
+            return shared.tokenize(SENTENCE);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.summary.eSummarizer.Config;
+
+import com.summary.eSummarizer.Summarizer.IdfTable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Maps the precomputed corpus IDF table, when one is configured. Without it, or if
+ * it cannot be read, every request weights terms by its own sentences as before.
+ */
+@Configuration
+public class IdfTableConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdfTableConfig.class);
+
+    @Bean
+    public IdfTable idfTable(@Value("${summarizer.idf.table-file:}") String tableFile) {
+        if (tableFile.isBlank()) {
+            return IdfTable.EMPTY;
+        }
+        try {
+            IdfTable table = IdfTable.open(Path.of(tableFile));
+            logger.info("Mapped IDF table {}: {} terms over {} documents",
+                    tableFile, table.termCount(), table.documentCount());
+            return table;
+        } catch (IOException e) {
+            logger.warn("Could not map IDF table {}, using in-document IDF: {}", tableFile, e.getMessage());
+            return IdfTable.EMPTY;
+        }
+    }
+}
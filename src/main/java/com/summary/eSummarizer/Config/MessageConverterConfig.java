@@ -0,0 +1,31 @@
+package com.summary.eSummarizer.Config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Binary response formats for service-to-service callers. Clients that send
+ * {@code Accept: application/cbor} or {@code Accept: application/x-jackson-smile}
+ * get CBOR or Smile; everyone else keeps getting JSON, since these converters
+ * take the place of the framework defaults, which come after the JSON one.
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    // The builder is a fresh copy per injection point, carrying Boot's Jackson settings and modules
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
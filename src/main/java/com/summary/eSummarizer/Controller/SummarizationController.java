@@ -1,25 +1,309 @@
 package com.summary.eSummarizer.Controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.summary.eSummarizer.DTO.BatchDocument;
+import com.summary.eSummarizer.DTO.BatchSummaryResult;
 import com.summary.eSummarizer.DTO.SummaryInfo;
-import com.summary.eSummarizer.Summarizer.TextRankSummarizer;
+import com.summary.eSummarizer.DTO.SummaryJob;
+import com.summary.eSummarizer.DTO.SummarySection;
+import com.summary.eSummarizer.Service.BatchSummarizationService;
+import com.summary.eSummarizer.Service.SummarizationJobService;
+import com.summary.eSummarizer.Service.SummarizationLimiter;
+import com.summary.eSummarizer.Service.SummarizationService;
+import com.summary.eSummarizer.Service.SummarizationSessionService;
+import com.summary.eSummarizer.Utils.WordCounter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 public class SummarizationController {
 
     @Autowired
-    private TextRankSummarizer summarizer;
+    private SummarizationService summarizationService;
+
+    @Autowired
+    private SummarizationJobService jobService;
+
+    @Autowired
+    private SummarizationLimiter limiter;
+
+    @Autowired
+    private BatchSummarizationService batchService;
+
+    @Autowired
+    private SummarizationSessionService sessionService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
+    // include selects the optional response sections, e.g. include=summary for text and counts only;
+    // see SummarySection. Without it the response has ranks and the node/link graph as before.
+    // X-Summarize-Trace: true recomputes the summary and adds a diagnostics object with stage timings,
+    // token counts and intermediate outputs. It bypasses the result cache, so only logged-in users may send it.
     @PostMapping("/summarize")
-    public ResponseEntity<?> summarize(@RequestBody String text) {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    public ResponseEntity<?> summarize(@RequestBody String text, @RequestParam(required = false) String include,
+                                       @RequestHeader(value = "X-Summarize-Trace", defaultValue = "false") boolean trace) {
+        Set<SummarySection> sections;
+        try {
+            sections = SummarySection.parse(include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        String requesterEmail = currentUserEmail();
+        ResponseEntity<?> loginRequired = checkAnonymousLimit(text, requesterEmail);
+        if (loginRequired != null) {
+            return loginRequired;
+        }
+        if (trace && requesterEmail == null) {
+            return ResponseEntity
+                    .status(401)
+                    .body("Login required to trace a summarization.");
+        }
+
+        // Stored results are served without waiting for a slot or touching the NLP models
+        String cacheKey = summarizationService.cacheKey(text, sections);
+        if (!trace) {
+            Optional<SummaryInfo> cached = summarizationService.findCached(cacheKey, requesterEmail, sections);
+            if (cached.isPresent()) {
+                return ResponseEntity.ok(cached.get());
+            }
+        }
+
+        if (!limiter.tryAcquire()) {
+            return ResponseEntity
+                    .status(429)
+                    .header("Retry-After", String.valueOf(limiter.getRetryAfterSeconds()))
+                    .body("Too many summarization requests, please retry later.");
+        }
+        try {
+            SummaryInfo summary = trace
+                    ? summarizationService.summarizeTraced(text, cacheKey, requesterEmail, sections)
+                    : summarizationService.summarize(text, cacheKey, requesterEmail, sections);
+            return ResponseEntity.ok(summary);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    @PostMapping("/summarize/jobs")
+    public ResponseEntity<?> submitJob(@RequestBody String text, @RequestParam(required = false) String include) {
+        Set<SummarySection> sections;
+        try {
+            sections = SummarySection.parse(include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        String requesterEmail = currentUserEmail();
+        ResponseEntity<?> loginRequired = checkAnonymousLimit(text, requesterEmail);
+        if (loginRequired != null) {
+            return loginRequired;
+        }
+
+        try {
+            SummaryJob job = jobService.submit(text, requesterEmail, sections);
+            return ResponseEntity
+                    .accepted()
+                    .location(URI.create("/summarize/jobs/" + job.getId()))
+                    .body(Map.of("jobId", job.getId(), "status", job.getStatus()));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity
+                    .status(503)
+                    .header("Retry-After", String.valueOf(jobService.getRetryAfterSeconds()))
+                    .body("Summarization queue is full, please retry later.");
+        }
+    }
+
+    @GetMapping("/summarize/jobs/{id}")
+    public ResponseEntity<SummaryJob> getJob(@PathVariable String id) {
+        // Jobs are only visible to their submitter; anyone else gets the same 404 as for an unknown id
+        return jobService.find(id, currentUserEmail())
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Editing sessions for clients that resend the whole text after every change: POST opens a session
+    // and summarizes the first version, PUT summarizes each later version, reusing the work done for
+    // sentences that did not change. Sessions expire after summarizer.sessions.idle-timeout.
+    @PostMapping("/summarize/sessions")
+    public ResponseEntity<?> openSession(@RequestBody String text, @RequestParam(required = false) String include) {
+        String id = sessionService.open(currentUserEmail());
+        ResponseEntity<?> response = updateSession(id, text, include);
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            sessionService.close(id, currentUserEmail());
+            return response;
+        }
+        return ResponseEntity
+                .created(URI.create("/summarize/sessions/" + id))
+                .body(response.getBody());
+    }
+
+    @PutMapping("/summarize/sessions/{id}")
+    public ResponseEntity<?> updateSession(@PathVariable String id, @RequestBody String text,
+                                           @RequestParam(required = false) String include) {
+        Set<SummarySection> sections;
+        try {
+            sections = SummarySection.parse(include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        String requesterEmail = currentUserEmail();
+        ResponseEntity<?> loginRequired = checkAnonymousLimit(text, requesterEmail);
+        if (loginRequired != null) {
+            return loginRequired;
+        }
+
+        if (!limiter.tryAcquire()) {
+            return ResponseEntity
+                    .status(429)
+                    .header("Retry-After", String.valueOf(limiter.getRetryAfterSeconds()))
+                    .body("Too many summarization requests, please retry later.");
+        }
+        try {
+            return sessionService.update(id, text, requesterEmail, sections)
+                    .<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } finally {
+            limiter.release();
+        }
+    }
+
+    @DeleteMapping("/summarize/sessions/{id}")
+    public ResponseEntity<Void> closeSession(@PathVariable String id) {
+        return sessionService.close(id, currentUserEmail())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    // Accepts a JSON array or an NDJSON stream of {id, text} documents and streams one
+    // NDJSON line per document back as soon as its summary is ready. NDJSON input is read a
+    // line at a time while results are written, so neither side of a large batch is buffered;
+    // since the response has started by then, a malformed line or a document beyond the limit
+    // is reported as an error line rather than a 400 or 413.
+    @PostMapping(value = "/summarize/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> summarizeBatch(InputStream body, @RequestParam(required = false) String include,
+                                            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType)
+            throws IOException {
+        Set<SummarySection> sections;
+        try {
+            sections = SummarySection.parse(include);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        BatchSummarizationService.Batch batch = batchService.start(currentUserEmail(), sections);
+        if (MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+            StreamingResponseBody stream = out -> streamBatch(batch, body, out);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream);
+        }
 
+        // A JSON array is one value, so it is read in full before any output
+        try (MappingIterator<BatchDocument> documents = objectMapper.readerFor(BatchDocument.class).readValues(body)) {
+            while (documents.hasNextValue()) {
+                if (batch.size() >= batchService.getMaxDocuments()) {
+                    batch.cancel();
+                    return ResponseEntity
+                            .status(413)
+                            .body("A batch may contain at most " + batchService.getMaxDocuments() + " documents.");
+                }
+                batch.submit(documents.nextValue());
+            }
+        } catch (JsonProcessingException e) {
+            batch.cancel();
+            return ResponseEntity.badRequest().body("Malformed batch: " + e.getOriginalMessage());
+        }
+
+        StreamingResponseBody stream = out -> streamBatch(batch, null, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(stream);
+    }
+
+    // Submits the NDJSON documents of the input, if any, writing results as they finish, then
+    // writes the rest of the results
+    private void streamBatch(BatchSummarizationService.Batch batch, InputStream ndjson, OutputStream out)
+            throws IOException {
+        ObjectReader documentReader = objectMapper.readerFor(BatchDocument.class);
+        int written = 0;
+        try {
+            if (ndjson != null) {
+                BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+                int lineNumber = 0;
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    if (batch.size() >= batchService.getMaxDocuments()) {
+                        writeBatchLine(out, new BatchSummaryResult(null, null, "A batch may contain at most "
+                                + batchService.getMaxDocuments() + " documents; the rest were ignored."));
+                        break;
+                    }
+                    try {
+                        batch.submit(documentReader.readValue(line));
+                    } catch (JsonProcessingException e) {
+                        writeBatchLine(out, new BatchSummaryResult(null, null,
+                                "Malformed document on line " + lineNumber + ": " + e.getOriginalMessage()));
+                        continue;
+                    }
+                    for (BatchSummaryResult result = batch.poll(); result != null; result = batch.poll()) {
+                        writeBatchLine(out, result);
+                        written++;
+                    }
+                }
+            }
+            for (; written < batch.size(); written++) {
+                writeBatchLine(out, batch.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.cancel();
+        } catch (IOException e) {
+            // Client went away; stop the remaining work
+            batch.cancel();
+            throw e;
+        }
+    }
+
+    private void writeBatchLine(OutputStream out, BatchSummaryResult result) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(result));
+        out.write('\n');
+        out.flush();
+    }
+
+    // Email of the logged-in user, or null for anonymous requests
+    private String currentUserEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated() || authentication.getPrincipal().equals("anonymousUser")) {
-            int wordCount = text.trim().split("\\s+").length;
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // Anonymous users may only summarize up to 200 words
+    private ResponseEntity<?> checkAnonymousLimit(String text, String requesterEmail) {
+        if (requesterEmail == null) {
+            int wordCount = WordCounter.count(text);
             if (wordCount > 200) {
                 // Send JSON-style error response
                 return ResponseEntity
@@ -27,9 +311,7 @@ public class SummarizationController {
                         .body("Login required to summarize more than 200 words.");
             }
         }
-
-        SummaryInfo summary = summarizer.summarize(text);
-        return ResponseEntity.ok(summary);
+        return null;
     }
 
     // Inner class for structured error response
@@ -1,7 +1,9 @@
 package com.summary.eSummarizer.Controller;
 
+import com.summary.eSummarizer.DTO.SummaryHistoryPage;
 import com.summary.eSummarizer.Model.UserModel;
 import com.summary.eSummarizer.Service.MyAppUserService;
+import com.summary.eSummarizer.Service.SummaryStoreService;
 import com.summary.eSummarizer.Service.UserOperationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -19,6 +21,9 @@ public class UserController {
     @Autowired
     private UserOperationService userOperationService;
 
+    @Autowired
+    private SummaryStoreService summaryStoreService;
+
     @GetMapping
     public ResponseEntity<UserModel> getUserProfile() {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -26,6 +31,16 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    // Keyset-paginated summary history, newest first; pass nextBefore from the previous page as "before"
+    @GetMapping("/summaries")
+    public ResponseEntity<SummaryHistoryPage> getSummaryHistory(@RequestParam(required = false) Long before,
+                                                                @RequestParam(defaultValue = "20") int limit) {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        UserModel user = userService.findByEmail(auth.getName());
+        int pageSize = Math.max(1, Math.min(limit, 100));
+        return ResponseEntity.ok(summaryStoreService.history(user, before, pageSize));
+    }
+
     @PutMapping("/username")
     public ResponseEntity<?> updateUsername(@RequestParam String newUsername) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
@@ -0,0 +1,30 @@
+package com.summary.eSummarizer.DTO;
+
+public class BatchDocument {
+    private String id;
+    private String text;
+
+    public BatchDocument() {
+    }
+
+    public BatchDocument(String id, String text) {
+        this.id = id;
+        this.text = text;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public void setText(String text) {
+        this.text = text;
+    }
+}
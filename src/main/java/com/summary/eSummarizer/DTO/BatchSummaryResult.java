@@ -0,0 +1,25 @@
+package com.summary.eSummarizer.DTO;
+
+public class BatchSummaryResult {
+    private String id;
+    private SummaryInfo summary;
+    private String error;
+
+    public BatchSummaryResult(String id, SummaryInfo summary, String error) {
+        this.id = id;
+        this.summary = summary;
+        this.error = error;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public SummaryInfo getSummary() {
+        return summary;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,36 @@
+package com.summary.eSummarizer.DTO;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Sentence graph as parallel arrays. Sentence ids are 1-based as in {@link SentenceRank}.
+ * Edge {@code k} joins sentences {@code sources[k]} and {@code targets[k]}; each
+ * undirected edge appears once, with {@code sources[k] < targets[k]}.
+ */
+public class CompactGraph {
+    // scores[i] is the rank of sentence i + 1
+    private final float[] scores;
+    private final int[] sources;
+    private final int[] targets;
+
+    @JsonCreator
+    public CompactGraph(@JsonProperty("scores") float[] scores, @JsonProperty("sources") int[] sources,
+                        @JsonProperty("targets") int[] targets) {
+        this.scores = scores;
+        this.sources = sources;
+        this.targets = targets;
+    }
+
+    public float[] getScores() {
+        return scores;
+    }
+
+    public int[] getSources() {
+        return sources;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+}
@@ -0,0 +1,100 @@
+package com.summary.eSummarizer.DTO;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Diagnostics for one traced summarization: where the time went and what each
+ * stage produced. Only created for requests that ask for a trace.
+ */
+public class PipelineTrace {
+    // Stage name -> milliseconds, in the order the stages first ran
+    private final Map<String, Double> stageMillis = new LinkedHashMap<>();
+    private double totalMillis;
+    private int sentenceCount;
+    private int tokenCount;
+    private int contentTokenCount;
+    private Double similarityThreshold;
+    private Long graphEdges;
+    private Integer rankingIterations;
+    private List<String> processedSentences;
+    private List<List<String>> taggedSentences;
+
+    public synchronized void addStageTime(String stage, long nanos) {
+        stageMillis.merge(stage, nanos / 1_000_000.0, Double::sum);
+    }
+
+    public synchronized void addTokens(int tokens, int contentTokens) {
+        tokenCount += tokens;
+        contentTokenCount += contentTokens;
+    }
+
+    public synchronized Map<String, Double> getStageMillis() {
+        return new LinkedHashMap<>(stageMillis);
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public void setTotalMillis(double totalMillis) {
+        this.totalMillis = totalMillis;
+    }
+
+    public int getSentenceCount() {
+        return sentenceCount;
+    }
+
+    public void setSentenceCount(int sentenceCount) {
+        this.sentenceCount = sentenceCount;
+    }
+
+    public synchronized int getTokenCount() {
+        return tokenCount;
+    }
+
+    public synchronized int getContentTokenCount() {
+        return contentTokenCount;
+    }
+
+    public Double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    public void setSimilarityThreshold(Double similarityThreshold) {
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    public Long getGraphEdges() {
+        return graphEdges;
+    }
+
+    public void setGraphEdges(Long graphEdges) {
+        this.graphEdges = graphEdges;
+    }
+
+    public Integer getRankingIterations() {
+        return rankingIterations;
+    }
+
+    public void setRankingIterations(Integer rankingIterations) {
+        this.rankingIterations = rankingIterations;
+    }
+
+    public List<String> getProcessedSentences() {
+        return processedSentences;
+    }
+
+    public void setProcessedSentences(List<String> processedSentences) {
+        this.processedSentences = processedSentences;
+    }
+
+    public List<List<String>> getTaggedSentences() {
+        return taggedSentences;
+    }
+
+    public void setTaggedSentences(List<List<String>> taggedSentences) {
+        this.taggedSentences = taggedSentences;
+    }
+}
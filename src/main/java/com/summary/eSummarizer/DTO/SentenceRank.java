@@ -1,14 +1,25 @@
 package com.summary.eSummarizer.DTO;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 public class SentenceRank {
+    private int id;
     private String sentence;
     private double rank;
 
-    public SentenceRank(String sentence, double rank) {
+    @JsonCreator
+    public SentenceRank(@JsonProperty("id") int id, @JsonProperty("sentence") String sentence,
+                        @JsonProperty("rank") double rank) {
+        this.id = id;
         this.sentence = sentence;
         this.rank = rank;
     }
 
+    public int getId() {
+        return id;
+    }
+
     public String getSentence() {
         return sentence;
     }
@@ -0,0 +1,46 @@
+package com.summary.eSummarizer.DTO;
+
+import java.time.Instant;
+
+public class SummaryHistoryEntry {
+    private Long id;
+    private Instant requestedAt;
+    private String summarizedText;
+    private int originalWordCount;
+    private int summarizedWordCount;
+    private double reductionRate;
+
+    public SummaryHistoryEntry(Long id, Instant requestedAt, String summarizedText,
+                               int originalWordCount, int summarizedWordCount, double reductionRate) {
+        this.id = id;
+        this.requestedAt = requestedAt;
+        this.summarizedText = summarizedText;
+        this.originalWordCount = originalWordCount;
+        this.summarizedWordCount = summarizedWordCount;
+        this.reductionRate = reductionRate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public String getSummarizedText() {
+        return summarizedText;
+    }
+
+    public int getOriginalWordCount() {
+        return originalWordCount;
+    }
+
+    public int getSummarizedWordCount() {
+        return summarizedWordCount;
+    }
+
+    public double getReductionRate() {
+        return reductionRate;
+    }
+}
@@ -0,0 +1,22 @@
+package com.summary.eSummarizer.DTO;
+
+import java.util.List;
+
+public class SummaryHistoryPage {
+    private List<SummaryHistoryEntry> entries;
+    // Pass as "before" to fetch the next page; null when there are no more entries
+    private Long nextBefore;
+
+    public SummaryHistoryPage(List<SummaryHistoryEntry> entries, Long nextBefore) {
+        this.entries = entries;
+        this.nextBefore = nextBefore;
+    }
+
+    public List<SummaryHistoryEntry> getEntries() {
+        return entries;
+    }
+
+    public Long getNextBefore() {
+        return nextBefore;
+    }
+}
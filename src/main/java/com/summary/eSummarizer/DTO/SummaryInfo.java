@@ -1,7 +1,16 @@
 package com.summary.eSummarizer.DTO;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
+@JsonSerialize(using = SummaryInfoSerializer.class)
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class SummaryInfo {
     private String summarizedText;
     private int originalSentenceCount;
@@ -10,11 +19,20 @@ public class SummaryInfo {
     private int summarizedWordCount;
     private double reductionRate;
     private List<SentenceRank> sentenceRanks;
-    private List<GraphNode> graphNodes;
-    private List<GraphLink> graphLinks;
+    private CompactGraph compactGraph;
+    // Sections written when serialized; a full summary keeps everything needed to answer any projection
+    private Set<SummarySection> sections = EnumSet.of(SummarySection.RANKS, SummarySection.COMPACT_GRAPH);
+    // Set only on traced responses, never on cached or stored summaries
+    private PipelineTrace diagnostics;
 
-    public SummaryInfo(String summarizedText, int originalSentenceCount, int summarizedSentenceCount,
-                       int originalWordCount, int summarizedWordCount, double reductionRate) {
+    // Creator for reading stored summaries back; the other sections are filled through their setters
+    @JsonCreator
+    public SummaryInfo(@JsonProperty("summarizedText") String summarizedText,
+                       @JsonProperty("originalSentenceCount") int originalSentenceCount,
+                       @JsonProperty("summarizedSentenceCount") int summarizedSentenceCount,
+                       @JsonProperty("originalWordCount") int originalWordCount,
+                       @JsonProperty("summarizedWordCount") int summarizedWordCount,
+                       @JsonProperty("reductionRate") double reductionRate) {
         this.summarizedText = summarizedText;
         this.originalSentenceCount = originalSentenceCount;
         this.summarizedSentenceCount = summarizedSentenceCount;
@@ -23,6 +41,27 @@ public class SummaryInfo {
         this.reductionRate = reductionRate;
     }
 
+    /**
+     * Returns a view of this summary that serializes only the requested sections.
+     * The node and link form of {@link SummarySection#GRAPH} is never materialized;
+     * {@link SummaryInfoSerializer} writes it straight from the compact graph.
+     *
+     * @param sections The sections to include.
+     * @return The projected summary.
+     */
+    public SummaryInfo project(Set<SummarySection> sections) {
+        SummaryInfo view = new SummaryInfo(summarizedText, originalSentenceCount, summarizedSentenceCount,
+                originalWordCount, summarizedWordCount, reductionRate);
+        view.sentenceRanks = sentenceRanks;
+        view.compactGraph = compactGraph;
+        view.sections = sections;
+        return view;
+    }
+
+    Set<SummarySection> getSections() {
+        return sections;
+    }
+
     // Getters and Setters
     public void setSentenceRanks(List<SentenceRank> sentenceRanks) {
         this.sentenceRanks = sentenceRanks;
@@ -56,16 +95,19 @@ public class SummaryInfo {
         return reductionRate;
     }
 
-    public void setGraphData(List<GraphNode> nodes, List<GraphLink> links) {
-        this.graphNodes = nodes;
-        this.graphLinks = links;
+    public void setCompactGraph(CompactGraph compactGraph) {
+        this.compactGraph = compactGraph;
+    }
+
+    public CompactGraph getCompactGraph() {
+        return compactGraph;
     }
 
-    public List<GraphNode> getGraphNodes() {
-        return graphNodes;
+    public void setDiagnostics(PipelineTrace diagnostics) {
+        this.diagnostics = diagnostics;
     }
 
-    public List<GraphLink> getGraphLinks() {
-        return graphLinks;
+    public PipelineTrace getDiagnostics() {
+        return diagnostics;
     }
 }
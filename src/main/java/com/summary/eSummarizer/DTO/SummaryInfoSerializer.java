@@ -0,0 +1,110 @@
+package com.summary.eSummarizer.DTO;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a {@link SummaryInfo} field by field to the generator, which works for JSON,
+ * CBOR and Smile alike. Sentence ranks and graph data are emitted as they are read,
+ * and the node/link graph is generated from the compact arrays rather than built as
+ * objects first, so large responses stream out without an intermediate object tree.
+ */
+public class SummaryInfoSerializer extends StdSerializer<SummaryInfo> {
+
+    public SummaryInfoSerializer() {
+        super(SummaryInfo.class);
+    }
+
+    @Override
+    public void serialize(SummaryInfo summary, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        Set<SummarySection> sections = summary.getSections();
+        gen.writeStartObject();
+        gen.writeStringField("summarizedText", summary.getSummarizedText());
+        gen.writeNumberField("originalSentenceCount", summary.getOriginalSentenceCount());
+        gen.writeNumberField("summarizedSentenceCount", summary.getSummarizedSentenceCount());
+        gen.writeNumberField("originalWordCount", summary.getOriginalWordCount());
+        gen.writeNumberField("summarizedWordCount", summary.getSummarizedWordCount());
+        gen.writeNumberField("reductionRate", summary.getReductionRate());
+
+        List<SentenceRank> ranks = summary.getSentenceRanks();
+        if (sections.contains(SummarySection.RANKS) && ranks != null) {
+            gen.writeArrayFieldStart("sentenceRanks");
+            for (SentenceRank rank : ranks) {
+                gen.writeStartObject();
+                gen.writeNumberField("id", rank.getId());
+                gen.writeStringField("sentence", rank.getSentence());
+                gen.writeNumberField("rank", rank.getRank());
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+
+        CompactGraph graph = summary.getCompactGraph();
+        if (sections.contains(SummarySection.GRAPH) && graph != null && ranks != null) {
+            writeNodes(gen, ranks);
+            writeLinks(gen, graph);
+        }
+        if (sections.contains(SummarySection.COMPACT_GRAPH) && graph != null) {
+            writeCompactGraph(gen, graph);
+        }
+        if (summary.getDiagnostics() != null) {
+            provider.defaultSerializeField("diagnostics", summary.getDiagnostics(), gen);
+        }
+        gen.writeEndObject();
+    }
+
+    // Nodes carry the double-precision ranks of the sentence ranks, in sentence order
+    private static void writeNodes(JsonGenerator gen, List<SentenceRank> ranks) throws IOException {
+        double[] rankById = new double[ranks.size()];
+        for (SentenceRank rank : ranks) {
+            rankById[rank.getId() - 1] = rank.getRank();
+        }
+        gen.writeArrayFieldStart("graphNodes");
+        for (int i = 0; i < rankById.length; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField("id", i + 1);
+            gen.writeNumberField("rank", rankById[i]);
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    // The node/link form lists every undirected edge in both directions
+    private static void writeLinks(JsonGenerator gen, CompactGraph graph) throws IOException {
+        int[] sources = graph.getSources();
+        int[] targets = graph.getTargets();
+        gen.writeArrayFieldStart("graphLinks");
+        for (int k = 0; k < sources.length; k++) {
+            writeLink(gen, sources[k], targets[k]);
+            writeLink(gen, targets[k], sources[k]);
+        }
+        gen.writeEndArray();
+    }
+
+    private static void writeLink(JsonGenerator gen, int source, int target) throws IOException {
+        gen.writeStartObject();
+        gen.writeNumberField("source", source);
+        gen.writeNumberField("target", target);
+        gen.writeEndObject();
+    }
+
+    private static void writeCompactGraph(JsonGenerator gen, CompactGraph graph) throws IOException {
+        gen.writeObjectFieldStart("compactGraph");
+        float[] scores = graph.getScores();
+        gen.writeArrayFieldStart("scores");
+        for (float score : scores) {
+            gen.writeNumber(score);
+        }
+        gen.writeEndArray();
+        gen.writeFieldName("sources");
+        gen.writeArray(graph.getSources(), 0, graph.getSources().length);
+        gen.writeFieldName("targets");
+        gen.writeArray(graph.getTargets(), 0, graph.getTargets().length);
+        gen.writeEndObject();
+    }
+}
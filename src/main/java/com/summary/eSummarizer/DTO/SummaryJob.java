@@ -0,0 +1,72 @@
+package com.summary.eSummarizer.DTO;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+
+public class SummaryJob {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    // The submitting user, or null for anonymous jobs; only they can read the job
+    private final String ownerEmail;
+    private final Instant createdAt;
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant completedAt;
+    private volatile SummaryInfo result;
+    private volatile String error;
+
+    public SummaryJob(String id, String ownerEmail) {
+        this.id = id;
+        this.ownerEmail = ownerEmail;
+        this.createdAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public String getOwnerEmail() {
+        return ownerEmail;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public SummaryInfo getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void markRunning() {
+        this.status = Status.RUNNING;
+    }
+
+    public void complete(SummaryInfo result) {
+        this.result = result;
+        this.completedAt = Instant.now();
+        this.status = Status.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+}
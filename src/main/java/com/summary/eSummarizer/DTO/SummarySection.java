@@ -0,0 +1,53 @@
+package com.summary.eSummarizer.DTO;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Optional parts of a {@link SummaryInfo} response. The summary text and counts
+ * are always returned; everything else must be asked for.
+ */
+public enum SummarySection {
+    /** Every sentence with its rank, highest first. */
+    RANKS,
+    /** The sentence graph as node and link objects, each undirected edge listed in both directions. */
+    GRAPH,
+    /** The sentence graph as parallel arrays, see {@link CompactGraph}. */
+    COMPACT_GRAPH;
+
+    /** Sections returned when the request does not choose, matching the original response shape. */
+    public static final Set<SummarySection> DEFAULT = EnumSet.of(RANKS, GRAPH);
+
+    /**
+     * Parses a comma-separated section list such as {@code "ranks,compact-graph"}.
+     * {@code "summary"} names the always-included text and counts, so {@code include=summary}
+     * returns nothing else.
+     *
+     * @param include The requested sections, or null for the defaults.
+     * @return The requested sections.
+     * @throws IllegalArgumentException if a section name is not recognized.
+     */
+    public static Set<SummarySection> parse(String include) {
+        if (include == null) {
+            return DEFAULT;
+        }
+        Set<SummarySection> sections = EnumSet.noneOf(SummarySection.class);
+        for (String name : include.split(",")) {
+            String normalized = name.trim().toUpperCase(Locale.ROOT).replace('-', '_');
+            if (normalized.isEmpty() || normalized.equals("SUMMARY")) {
+                continue;
+            }
+            try {
+                sections.add(valueOf(normalized));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown summary section: " + name.trim());
+            }
+        }
+        return sections;
+    }
+
+    public static boolean needsGraph(Set<SummarySection> sections) {
+        return sections.contains(GRAPH) || sections.contains(COMPACT_GRAPH);
+    }
+}
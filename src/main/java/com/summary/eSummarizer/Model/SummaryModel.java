@@ -0,0 +1,102 @@
+package com.summary.eSummarizer.Model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "summaries",
+        indexes = @Index(name = "ux_summaries_content_hash", columnList = "content_hash", unique = true))
+public class SummaryModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // SHA-256 of the normalized input text and summarizer parameters; unique through ux_summaries_content_hash
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    @Lob
+    @Column(name = "summarized_text", nullable = false, columnDefinition = "LONGTEXT")
+    private String summarizedText;
+
+    private int originalWordCount;
+
+    private int summarizedWordCount;
+
+    private double reductionRate;
+
+    // Full SummaryInfo as JSON, read back on cache misses
+    @Lob
+    @Column(name = "summary_json", nullable = false, columnDefinition = "LONGTEXT")
+    private String summaryJson;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getSummarizedText() {
+        return summarizedText;
+    }
+
+    public void setSummarizedText(String summarizedText) {
+        this.summarizedText = summarizedText;
+    }
+
+    public int getOriginalWordCount() {
+        return originalWordCount;
+    }
+
+    public void setOriginalWordCount(int originalWordCount) {
+        this.originalWordCount = originalWordCount;
+    }
+
+    public int getSummarizedWordCount() {
+        return summarizedWordCount;
+    }
+
+    public void setSummarizedWordCount(int summarizedWordCount) {
+        this.summarizedWordCount = summarizedWordCount;
+    }
+
+    public double getReductionRate() {
+        return reductionRate;
+    }
+
+    public void setReductionRate(double reductionRate) {
+        this.reductionRate = reductionRate;
+    }
+
+    public String getSummaryJson() {
+        return summaryJson;
+    }
+
+    public void setSummaryJson(String summaryJson) {
+        this.summaryJson = summaryJson;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,59 @@
+package com.summary.eSummarizer.Model;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "summary_requests",
+        indexes = @Index(name = "idx_summary_requests_user_id", columnList = "user_id, id"))
+public class SummaryRequestModel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private UserModel user;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "summary_id", nullable = false)
+    private SummaryModel summary;
+
+    @Column(nullable = false)
+    private Instant requestedAt;
+
+    // Getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UserModel getUser() {
+        return user;
+    }
+
+    public void setUser(UserModel user) {
+        this.user = user;
+    }
+
+    public SummaryModel getSummary() {
+        return summary;
+    }
+
+    public void setSummary(SummaryModel summary) {
+        this.summary = summary;
+    }
+
+    public Instant getRequestedAt() {
+        return requestedAt;
+    }
+
+    public void setRequestedAt(Instant requestedAt) {
+        this.requestedAt = requestedAt;
+    }
+}
@@ -0,0 +1,104 @@
+package com.summary.eSummarizer.Preprocessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A sentence annotated in one batch: the character spans of its tokens in the
+ * sentence text, their in-context POS tags and lemmas, and which tokens are
+ * stopwords. All arrays are indexed by token position. Token text is not kept;
+ * {@link #getToken(int)} cuts it from the sentence when output needs it.
+ */
+public class AnnotatedSentence {
+    private final String text;
+    private final int[] tokenStarts;
+    private final int[] tokenEnds;
+    private final String[] posTags;
+    private final String[] lemmas;
+    private final boolean[] stopwords;
+
+    public AnnotatedSentence(String text, int[] tokenStarts, int[] tokenEnds, String[] posTags, String[] lemmas,
+                             boolean[] stopwords) {
+        this.text = text;
+        this.tokenStarts = tokenStarts;
+        this.tokenEnds = tokenEnds;
+        this.posTags = posTags;
+        this.lemmas = lemmas;
+        this.stopwords = stopwords;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public int getTokenCount() {
+        return tokenStarts.length;
+    }
+
+    /**
+     * Returns the offset of the token's first character in the sentence text.
+     */
+    public int getTokenStart(int index) {
+        return tokenStarts[index];
+    }
+
+    /**
+     * Returns the offset just past the token's last character in the sentence text.
+     */
+    public int getTokenEnd(int index) {
+        return tokenEnds[index];
+    }
+
+    /**
+     * Returns the token as written, created on each call.
+     */
+    public String getToken(int index) {
+        return text.substring(tokenStarts[index], tokenEnds[index]);
+    }
+
+    public String getPosTag(int index) {
+        return posTags[index];
+    }
+
+    public String getLemma(int index) {
+        return lemmas[index];
+    }
+
+    public boolean isStopword(int index) {
+        return stopwords[index];
+    }
+
+    /**
+     * Returns the lemmas of the non-stopword tokens, in sentence order.
+     */
+    public List<String> getContentLemmas() {
+        List<String> contentLemmas = new ArrayList<>(lemmas.length);
+        for (int i = 0; i < lemmas.length; i++) {
+            if (!stopwords[i]) {
+                contentLemmas.add(lemmas[i]);
+            }
+        }
+        return contentLemmas;
+    }
+
+    /**
+     * Returns the non-stopword lemmas joined by single spaces. Ranking reads the
+     * lemmas through a {@link TokenStream}; this is built on each call for display.
+     */
+    public String getProcessedSentence() {
+        return String.join(" ", getContentLemmas());
+    }
+
+    /**
+     * Returns the non-stopword lemmas tagged as {@code lemma|POS}.
+     */
+    public List<String> getTaggedWords() {
+        List<String> taggedWords = new ArrayList<>(lemmas.length);
+        for (int i = 0; i < lemmas.length; i++) {
+            if (!stopwords[i]) {
+                taggedWords.add(lemmas[i] + "|" + posTags[i]);
+            }
+        }
+        return taggedWords;
+    }
+}
@@ -1,19 +1,21 @@
 package com.summary.eSummarizer.Preprocessor;
 
-import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.DTO.PipelineTrace;
+import com.summary.eSummarizer.Utils.InstancePool;
+import com.summary.eSummarizer.Utils.Lexicon;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
 import com.summary.eSummarizer.Service.LemmatizationService;
+import com.summary.eSummarizer.Service.LexiconService;
+import com.summary.eSummarizer.Service.OpenNLPModels;
 import com.summary.eSummarizer.Service.POSService;
 import opennlp.tools.sentdetect.SentenceDetectorME;
-import opennlp.tools.sentdetect.SentenceModel;
 import opennlp.tools.tokenize.TokenizerME;
-import opennlp.tools.tokenize.TokenizerModel;
+import opennlp.tools.util.Span;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -22,62 +24,46 @@ public class Preprocessor {
 
     private static final Logger logger = LoggerFactory.getLogger(Preprocessor.class);
 
-    private final Set<String> STOPWORDS;
-    private final SentenceDetectorME sentenceDetector;
-    private final TokenizerME tokenizer;
+    // Models are immutable and shared; the *ME instances are not thread-safe, so they are pooled
+    private final InstancePool<SentenceDetectorME> sentenceDetectors;
+    private final InstancePool<TokenizerME> tokenizers;
 
-    @Autowired
-    private LemmatizationService lemmatizationService;
+    private final LemmatizationService lemmatizationService;
 
-    @Autowired
-    private POSService posService;
+    private final POSService posService;
 
-    @Autowired
-    private CSVLoaderService csvLoaderService;
+    private final LexiconService lexiconService;
 
-    public Preprocessor(CSVLoaderService csvLoaderService) {
-        this.csvLoaderService = csvLoaderService;
-        STOPWORDS = loadStopwordsFromCsv("/CSV/stopwords.csv");
-        // OpenNLP models
-        this.sentenceDetector = loadSentenceDetector();
-        this.tokenizer = loadTokenizer();
-    }
+    private final PipelineMetrics metrics;
 
-    private SentenceDetectorME loadSentenceDetector() {
-        try (InputStream modelIn = getClass().getResourceAsStream("/models/openNLP/en-sent.bin")) {
-            if (modelIn == null) {
-                throw new RuntimeException(
-                        "Sentence detection model not found at /models/openNLP/en-sent.bin");
-            }
-            logger.info("✓ Loading sentence detector from: /models/opennlp-en-ud-ewt-sentence-1.3-2.5.4.bin");
-            SentenceModel model = new SentenceModel(modelIn);
-            return new SentenceDetectorME(model);
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading sentence detection model: " + e.getMessage(), e);
-        }
+    public Preprocessor(LexiconService lexiconService, LemmatizationService lemmatizationService,
+                        POSService posService, OpenNLPModels models, PipelineMetrics metrics,
+                        @Value("${opennlp.pool-size:0}") int poolSize) {
+        this.lexiconService = lexiconService;
+        this.metrics = metrics;
+        this.lemmatizationService = lemmatizationService;
+        this.posService = posService;
+        // OpenNLP instances are created on first use, waiting for their model if it is still loading
+        int size = InstancePool.resolveSize(poolSize);
+        this.sentenceDetectors = new InstancePool<>(size, () -> new SentenceDetectorME(models.sentenceModel()));
+        this.tokenizers = new InstancePool<>(size, () -> new TokenizerME(models.tokenizerModel()));
     }
 
-    private TokenizerME loadTokenizer() {
-        try (InputStream modelIn = getClass().getResourceAsStream("/models/openNLP/en-token.bin")) {
-            if (modelIn == null) {
-                throw new RuntimeException(
-                        "Tokenizer model not found at /models/openNLP/en-token.bin");
-            }
-            logger.info("✓ Loading tokenizer from: /models/openNLP/en-token.bin");
-            TokenizerModel model = new TokenizerModel(modelIn);
-            return new TokenizerME(model);
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading tokenizer model: " + e.getMessage(), e);
-        }
+    // Run the full preprocessing pipeline and index the results by sentence
+    public ProcessedDocument preprocess(String text) {
+        return preprocess(tokenizeSentences(text));
     }
 
-    private Set<String> loadStopwordsFromCsv(String filename) {
-        return csvLoaderService.loadAsSet(filename);
+    // Run the preprocessing pipeline on already detected sentences
+    public ProcessedDocument preprocess(List<String> originalSentences) {
+        return new ProcessedDocument(originalSentences, annotateSentences(originalSentences));
     }
 
     // Enhanced sentence tokenization using OpenNLP
     public List<String> tokenizeSentences(String text) {
-        String[] sentences = sentenceDetector.sentDetect(text);
+        long start = System.nanoTime();
+        String[] sentences = sentenceDetectors.withInstance(detector -> detector.sentDetect(text));
+        metrics.record(PipelineMetrics.Stage.SENTENCE_DETECTION, System.nanoTime() - start);
         List<String> sentenceList = Arrays.asList(sentences);
 
         // logger.info("=== Sentence Tokenization ===");
@@ -90,124 +76,122 @@ public class Preprocessor {
         return sentenceList;
     }
 
-    // tokenization using OpenNLP
-    public List<String> tokenizeWords(String sentence) {
-        String[] tokens = tokenizer.tokenize(sentence);
-        List<String> wordList = Arrays.stream(tokens)
-                .map(String::toLowerCase)
-                .filter(token -> !token.trim().isEmpty())
-                .collect(Collectors.toList());
-
-        // logger.info("=== Word Tokenization ===");
-        // logger.info("Input sentence: {}", sentence);
-        // logger.info("Total words tokenized: {}", wordList.size());
-        // logger.info("Tokenized words: {}", wordList);
-        // logger.info("=== End Word Tokenization ===");
-
-        return wordList;
+    // Tokenize a sentence once and POS-tag and lemmatize all of its tokens in one batch each
+    public AnnotatedSentence annotate(String sentence) {
+        long[] stageNanos = new long[3];
+        AnnotatedSentence annotated = annotate(sentence, stageNanos);
+        recordAnnotationTimes(stageNanos);
+        return annotated;
     }
 
-    // Remove stopwords and apply lemmatization on a list of sentences
-    public List<String> removeStopwordsAndLemmatize(List<String> sentences) {
-        logger.info("=== Starting Stopword Removal and Lemmatization ===");
-        logger.info("Input sentences count: {}", sentences.size());
-
-        // array to hold the counts
-        final int[] stopwordCount = { 0 };
-        final int[] lemmatizedCount = { 0 };
-        final int[] sentenceIndex = { 0 };
-
-        List<String> processed = sentences.stream().map(sentence -> {
-            boolean isFirstSentence = sentenceIndex[0] == 0;
-
-            if (isFirstSentence) {
-                logger.info("Processing first sentence (detailed): {}", sentence);
+    // Adds the time spent tokenizing, tagging and lemmatizing to stageNanos[0], [1] and [2]
+    private AnnotatedSentence annotate(String sentence, long[] stageNanos) {
+        long start = System.nanoTime();
+        Span[] spans = tokenizers.withInstance(tokenizer -> tokenizer.tokenizePos(sentence));
+
+        // Blank checks and stopword lookups work on the token spans, and the spans are what the
+        // annotation keeps, so the only token strings created are the ones the tagger and
+        // lemmatizer take as input; they are dropped once the sentence is annotated
+        int count = 0;
+        int[] starts = new int[spans.length];
+        int[] ends = new int[spans.length];
+        for (Span span : spans) {
+            if (!isBlank(sentence, span.getStart(), span.getEnd())) {
+                starts[count] = span.getStart();
+                ends[count] = span.getEnd();
+                count++;
             }
+        }
+        String[] originalTokens = new String[count];
+        String[] words = new String[count];
+        boolean[] stopwords = new boolean[count];
+        Lexicon stopwordLexicon = lexiconService.getStopwords();
+        for (int i = 0; i < count; i++) {
+            // Tag the tokens as written so the tagger sees capitalization, then lemmatize the lowercased forms
+            originalTokens[i] = sentence.substring(starts[i], ends[i]);
+            words[i] = originalTokens[i].toLowerCase();
+            stopwords[i] = stopwordLexicon.contains(sentence, starts[i], ends[i]);
+        }
 
-            List<String> words = tokenizeWords(sentence);
+        long tokenized = System.nanoTime();
+        String[] posTags = posService.getPartsOfSpeech(originalTokens);
+        long tagged = System.nanoTime();
+        String[] lemmas = lemmatizationService.lemmatize(words, posTags);
+        long lemmatized = System.nanoTime();
+        stageNanos[0] += tokenized - start;
+        stageNanos[1] += tagged - tokenized;
+        stageNanos[2] += lemmatized - tagged;
+        return new AnnotatedSentence(sentence, Arrays.copyOf(starts, count), Arrays.copyOf(ends, count),
+                posTags, lemmas, stopwords);
+    }
 
-            if (isFirstSentence) {
-                logger.info("Words after tokenization: {}", words);
+    private static boolean isBlank(String text, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!Character.isWhitespace(text.charAt(i))) {
+                return false;
             }
+        }
+        return true;
+    }
 
-            List<String> filteredWords = words.stream()
-                    .filter(word -> {
-                        boolean isStopword = STOPWORDS.contains(word);
-                        if (isStopword) {
-                            stopwordCount[0]++;
-                            if (isFirstSentence) {
-                                logger.debug("Removed stopword: {}", word);
-                            }
-                        }
-                        return !isStopword; // Keep non-stopwords
-                    }).collect(Collectors.toList()); // Collect filtered words
-
-            if (isFirstSentence) {
-                logger.info("Words after stopword removal: {}", filteredWords);
+    // Annotate a list of sentences, reporting stopword and lemmatization counts to the debug log and trace
+    public List<AnnotatedSentence> annotateSentences(List<String> sentences) {
+        int stopwordCount = 0;
+        int lemmatizedCount = 0;
+        long[] stageNanos = new long[3];
+        List<AnnotatedSentence> annotated = new ArrayList<>(sentences.size());
+        for (int index = 0; index < sentences.size(); index++) {
+            AnnotatedSentence sentence = annotate(sentences.get(index), stageNanos);
+            int contentWords = 0;
+            for (int i = 0; i < sentence.getTokenCount(); i++) {
+                if (sentence.isStopword(i)) {
+                    stopwordCount++;
+                } else {
+                    contentWords++;
+                }
             }
+            lemmatizedCount += contentWords;
+            annotated.add(sentence);
+        }
+        recordAnnotationTimes(stageNanos);
 
-            List<String> lemmatizedWords = filteredWords.stream()
-                    .map(word -> {
-                        String lemmatized = lemmatizationService.lemmatize(word);
-                        if (!word.equals(lemmatized) && isFirstSentence) {
-                            logger.debug("Lemmatized: {} -> {}", word, lemmatized);
-                        }
-                        return lemmatized;
-                    })
-                    .collect(Collectors.toList()); // Collect lemmatized words
-            lemmatizedCount[0] += lemmatizedWords.size(); // Increment lemmatized words count
-
-            String processedSentence = String.join(" ", lemmatizedWords);
-
-            if (isFirstSentence) {
-                logger.info("Processed first sentence: {}", processedSentence);
-            }
+        PipelineTrace trace = metrics.currentTrace();
+        if (trace != null) {
+            trace.addTokens(stopwordCount + lemmatizedCount, lemmatizedCount);
+        }
+        logger.debug("Annotated {} sentences: {} stopwords removed, {} words lemmatized",
+                sentences.size(), stopwordCount, lemmatizedCount);
 
-            sentenceIndex[0]++; // Increment sentence index
-            return processedSentence; // Reconstruct the processed sentence
-        }).collect(Collectors.toList());
+        return annotated;
+    }
 
-        // Log the summary after processing all sentences
-        logger.info("=== Stopword Removal and Lemmatization Summary ===");
-        logger.info("Total sentences processed: {}", sentences.size());
-        logger.info("Total stopwords removed: {}", stopwordCount[0]);
-        logger.info("Total lemmatized words: {}", lemmatizedCount[0]);
-        logger.info("=== End Stopword Removal and Lemmatization ===");
+    private void recordAnnotationTimes(long[] stageNanos) {
+        metrics.record(PipelineMetrics.Stage.TOKENIZATION, stageNanos[0]);
+        metrics.record(PipelineMetrics.Stage.POS_TAGGING, stageNanos[1]);
+        metrics.record(PipelineMetrics.Stage.LEMMATIZATION, stageNanos[2]);
+    }
 
-        return processed;
+    // Remove stopwords and apply lemmatization on a list of sentences
+    public List<String> removeStopwordsAndLemmatize(List<String> sentences) {
+        return annotateSentences(sentences).stream()
+                .map(AnnotatedSentence::getProcessedSentence)
+                .collect(Collectors.toList());
     }
 
-    // method to tag parts of speech (POS) for each word in the sentences
-    public List<List<String>> tagPartsOfSpeech(List<String> sentences) {
-        logger.info("=== Starting POS Tagging ===");
-        logger.info("Input sentences count: {}", sentences.size());
-
-        final int[] taggedWordCount = { 0 }; // hold the total tagged words
-
-        List<List<String>> taggedSentences = sentences.stream().map(sentence -> {
-            logger.info("POS tagging sentence: {}", sentence);
-
-            List<String> words = tokenizeWords(sentence);
-            List<String> taggedWords = words.stream()
-                    .map(word -> {
-                        String pos = posService.getPartOfSpeech(word);
-                        String taggedWord = word + "|" + pos; // Tag word with POS
-                        taggedWordCount[0]++;
-                        logger.debug("POS tagged: {} -> {}", word, taggedWord);
-                        return taggedWord;
-                    })
-                    .collect(Collectors.toList());
-
-            logger.info("Tagged words for sentence: {}", taggedWords);
-            return taggedWords;
-        }).collect(Collectors.toList());
-
-        // Log the summary for POS tagging
-        logger.info("=== POS Tagging Summary ===");
-        logger.info("Total POS tagged words: {}", taggedWordCount[0]);
-        logger.info("Final tagged sentences: {}", taggedSentences);
-        logger.info("=== End POS Tagging ===");
+    // method to collect the parts of speech (POS) of the content words in each annotated sentence
+    // The tagged words themselves are available through a request trace rather than the log
+    public List<List<String>> tagPartsOfSpeech(List<AnnotatedSentence> sentences) {
+        int taggedWordCount = 0; // hold the total tagged words
+
+        List<List<String>> taggedSentences = new ArrayList<>(sentences.size());
+        for (AnnotatedSentence sentence : sentences) {
+            List<String> taggedWords = sentence.getTaggedWords();
+            taggedWordCount += taggedWords.size();
+            taggedSentences.add(taggedWords);
+        }
+
+        logger.debug("POS tagged {} words in {} sentences", taggedWordCount, sentences.size());
 
         return taggedSentences;
     }
-}
\ No newline at end of file
+}
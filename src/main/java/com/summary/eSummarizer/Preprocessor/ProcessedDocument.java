@@ -0,0 +1,70 @@
+package com.summary.eSummarizer.Preprocessor;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Output of the preprocessing pipeline for one input text.
+ * Sentences are identified by their zero-based index, which is the same in every
+ * list and in the token stream, so duplicate sentences remain distinct and lookups
+ * are constant-time.
+ */
+public class ProcessedDocument {
+    private final List<String> originalSentences;
+    private final List<AnnotatedSentence> annotatedSentences;
+    private final TokenStream tokenStream;
+
+    public ProcessedDocument(List<String> originalSentences, List<AnnotatedSentence> annotatedSentences) {
+        if (originalSentences.size() != annotatedSentences.size()) {
+            throw new IllegalArgumentException("Sentence lists must have the same size");
+        }
+        this.originalSentences = originalSentences;
+        this.annotatedSentences = annotatedSentences;
+        this.tokenStream = TokenStream.of(annotatedSentences);
+    }
+
+    public int size() {
+        return originalSentences.size();
+    }
+
+    public String getOriginalSentence(int sentenceId) {
+        return originalSentences.get(sentenceId);
+    }
+
+    public AnnotatedSentence getAnnotatedSentence(int sentenceId) {
+        return annotatedSentences.get(sentenceId);
+    }
+
+    public List<String> getOriginalSentences() {
+        return originalSentences;
+    }
+
+    public List<AnnotatedSentence> getAnnotatedSentences() {
+        return annotatedSentences;
+    }
+
+    /**
+     * Returns the content terms of every sentence as interned term ids.
+     */
+    public TokenStream getTokenStream() {
+        return tokenStream;
+    }
+
+    /**
+     * Returns the processed sentences as text, built on each call for display.
+     */
+    public List<String> getProcessedSentences() {
+        return annotatedSentences.stream()
+                .map(AnnotatedSentence::getProcessedSentence)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the {@code lemma|POS} words of every sentence, built on each call for display.
+     */
+    public List<List<String>> getTaggedSentences() {
+        return annotatedSentences.stream()
+                .map(AnnotatedSentence::getTaggedWords)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,82 @@
+package com.summary.eSummarizer.Preprocessor;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The content terms of a document as one flat stream of term ids. The terms of
+ * sentence s are {@code [termStart(s), termEnd(s))}, in sentence order, and ids
+ * index a vocabulary shared by the whole stream. It is built once from the
+ * annotated sentences, so later stages never re-split or re-intern text.
+ * <p>
+ * The stream holds only term ids. The character spans of the tokens stay on each
+ * {@link AnnotatedSentence}: they are offsets into that sentence's text, the buffer
+ * the tokenizer read, and no ranking stage reads token text.
+ */
+public final class TokenStream {
+    private final Vocabulary vocabulary;
+    private final int[] sentenceOffsets;
+    private final int[] termIds;
+
+    private TokenStream(Vocabulary vocabulary, int[] sentenceOffsets, int[] termIds) {
+        this.vocabulary = vocabulary;
+        this.sentenceOffsets = sentenceOffsets;
+        this.termIds = termIds;
+    }
+
+    /**
+     * Interns the lowercased lemmas of the non-stopword tokens of every sentence.
+     *
+     * @param sentences The annotated sentences.
+     * @return The token stream, with sentences in the same order.
+     */
+    public static TokenStream of(List<AnnotatedSentence> sentences) {
+        Vocabulary vocabulary = new Vocabulary();
+        int[] sentenceOffsets = new int[sentences.size() + 1];
+        int[] termIds = new int[16];
+        int count = 0;
+        for (int s = 0; s < sentences.size(); s++) {
+            AnnotatedSentence sentence = sentences.get(s);
+            for (int i = 0; i < sentence.getTokenCount(); i++) {
+                String lemma = sentence.getLemma(i);
+                if (sentence.isStopword(i) || lemma.isEmpty()) {
+                    continue;
+                }
+                if (count == termIds.length) {
+                    termIds = Arrays.copyOf(termIds, count * 2);
+                }
+                // toLowerCase returns the lemma itself when it is already lowercase
+                termIds[count++] = vocabulary.intern(lemma.toLowerCase());
+            }
+            sentenceOffsets[s + 1] = count;
+        }
+        return new TokenStream(vocabulary, sentenceOffsets, Arrays.copyOf(termIds, count));
+    }
+
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    public int sentenceCount() {
+        return sentenceOffsets.length - 1;
+    }
+
+    public int termStart(int sentenceId) {
+        return sentenceOffsets[sentenceId];
+    }
+
+    public int termEnd(int sentenceId) {
+        return sentenceOffsets[sentenceId + 1];
+    }
+
+    /**
+     * Returns the number of content terms in the sentence.
+     */
+    public int termCount(int sentenceId) {
+        return sentenceOffsets[sentenceId + 1] - sentenceOffsets[sentenceId];
+    }
+
+    public int termId(int position) {
+        return termIds[position];
+    }
+}
@@ -0,0 +1,46 @@
+package com.summary.eSummarizer.Preprocessor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interns the terms of a single document into dense integer ids.
+ * Ids are assigned in first-seen order starting at 0, so they can be used
+ * directly as array indices by the vector and graph code.
+ */
+public class Vocabulary {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> terms = new ArrayList<>();
+
+    /**
+     * Returns the id of the given term, assigning a new one if it has not been seen.
+     *
+     * @param term The term to intern.
+     * @return The term id.
+     */
+    public int intern(String term) {
+        Integer id = ids.get(term);
+        if (id == null) {
+            id = terms.size();
+            ids.put(term, id);
+            terms.add(term);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the term for the given id.
+     *
+     * @param id The term id.
+     * @return The interned term.
+     */
+    public String term(int id) {
+        return terms.get(id);
+    }
+
+    public int size() {
+        return terms.size();
+    }
+}
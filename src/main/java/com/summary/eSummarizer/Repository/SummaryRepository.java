@@ -0,0 +1,13 @@
+package com.summary.eSummarizer.Repository;
+
+import java.util.Optional;
+
+import com.summary.eSummarizer.Model.SummaryModel;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SummaryRepository extends JpaRepository<SummaryModel, Long> {
+
+    Optional<SummaryModel> findByContentHash(String contentHash);
+}
@@ -0,0 +1,22 @@
+package com.summary.eSummarizer.Repository;
+
+import java.util.List;
+
+import com.summary.eSummarizer.DTO.SummaryHistoryEntry;
+import com.summary.eSummarizer.Model.SummaryRequestModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SummaryRequestRepository extends JpaRepository<SummaryRequestModel, Long> {
+
+    // Keyset pagination: newest first, strictly older than the given request id
+    @Query("select new com.summary.eSummarizer.DTO.SummaryHistoryEntry(r.id, r.requestedAt, s.summarizedText, "
+            + "s.originalWordCount, s.summarizedWordCount, s.reductionRate) "
+            + "from SummaryRequestModel r join r.summary s "
+            + "where r.user.id = :userId and r.id < :beforeId order by r.id desc")
+    List<SummaryHistoryEntry> findHistory(@Param("userId") Long userId, @Param("beforeId") Long beforeId, Limit limit);
+}
@@ -1,6 +1,7 @@
 package com.summary.eSummarizer.Security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationProvider;
@@ -12,6 +13,8 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 
 import com.summary.eSummarizer.Service.MyAppUserService;
 
@@ -22,8 +25,12 @@ public class SecurityConfig {
     @Autowired
     private final MyAppUserService appUserService;
 
-    public SecurityConfig(MyAppUserService appUserService) {
+    // Port the actuator endpoints are served on, or -1 when they share the application port
+    private final int managementPort;
+
+    public SecurityConfig(MyAppUserService appUserService, @Value("${management.server.port:-1}") int managementPort) {
         this.appUserService = appUserService;
+        this.managementPort = managementPort;
     }
 
     @Bean
@@ -63,11 +70,19 @@ public class SecurityConfig {
                         .deleteCookies("JSESSIONID"))
                 .authorizeHttpRequests(registry -> {
                     registry.requestMatchers("/", "/index", "/index.html", "/signup", "/css/**", "/js/**").permitAll(); // Public access to index and resources
-                    registry.requestMatchers("/summarize").permitAll();  // Summarization accessible to anonymous users
+                    registry.requestMatchers("/summarize", "/summarize/jobs/**", "/summarize/sessions/**").permitAll();  // Summarization accessible to anonymous users
+                    registry.requestMatchers("/actuator/health", "/actuator/health/**").permitAll();  // Liveness and readiness probes do not log in
+                    registry.requestMatchers(onManagementPort("/actuator/prometheus")).permitAll();  // Neither does the scraper, but only on the internal management port
                     registry.requestMatchers("/api/profile/**").authenticated();  // Profile API requires authentication
                     registry.anyRequest().authenticated();  // All other requests need authentication
                 })
                 .build();
     }
 
+    // Matches the path only when it arrives on a separate management port; with a shared port it never matches
+    private RequestMatcher onManagementPort(String path) {
+        RequestMatcher pathMatcher = new AntPathRequestMatcher(path);
+        return request -> managementPort > 0 && request.getLocalPort() == managementPort && pathMatcher.matches(request);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.summary.eSummarizer.Service;
+
+import com.summary.eSummarizer.DTO.BatchDocument;
+import com.summary.eSummarizer.DTO.BatchSummaryResult;
+import com.summary.eSummarizer.DTO.SummarySection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Summarizes batches of documents in parallel on a shared, fixed pool of batch threads.
+ * All batches reuse the same summarizer and its pooled OpenNLP components. Each document
+ * holds a {@link SummarizationLimiter} slot while it runs, so batches count against the
+ * admission limit, and the pool is smaller than the limit, so however large the batches,
+ * some slots are always left to interactive requests.
+ */
+@Service
+public class BatchSummarizationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchSummarizationService.class);
+
+    private final SummarizationService summarizationService;
+    private final SummarizationLimiter limiter;
+    private final ThreadPoolExecutor pool;
+    private final int maxDocuments;
+
+    public BatchSummarizationService(SummarizationService summarizationService, SummarizationLimiter limiter,
+                                     @Value("${summarizer.batch.parallelism:0}") int parallelism,
+                                     @Value("${summarizer.batch.max-documents:10000}") int maxDocuments) {
+        this.summarizationService = summarizationService;
+        this.limiter = limiter;
+        this.maxDocuments = maxDocuments;
+        int threads = resolveParallelism(parallelism, limiter.getMaxConcurrent());
+        AtomicInteger threadCount = new AtomicInteger();
+        // Plain threads that block on the limiter; queued documents wait here, not on the limiter
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "summarize-batch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        logger.info("Batch summarization runs {} documents at a time of {} admission slots",
+                threads, limiter.getMaxConcurrent());
+    }
+
+    // Batches get at most all but one admission slot, and half of them by default
+    static int resolveParallelism(int configured, int maxConcurrent) {
+        int limit = Math.max(1, maxConcurrent - 1);
+        return configured > 0 ? Math.min(configured, limit) : Math.max(1, Math.min(maxConcurrent / 2, limit));
+    }
+
+    /**
+     * Starts a batch.
+     *
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     * @param sections       The sections to include in each result.
+     */
+    public Batch start(String requesterEmail, Set<SummarySection> sections) {
+        return new Batch(requesterEmail, sections);
+    }
+
+    public int getMaxDocuments() {
+        return maxDocuments;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * One batch request. Documents start summarizing as soon as they are submitted,
+     * and results are taken back in completion order.
+     */
+    public class Batch {
+        private final CompletionService<BatchSummaryResult> completionService = new ExecutorCompletionService<>(pool);
+        private final List<Future<BatchSummaryResult>> futures = new ArrayList<>();
+        private final String requesterEmail;
+        private final Set<SummarySection> sections;
+
+        private Batch(String requesterEmail, Set<SummarySection> sections) {
+            this.requesterEmail = requesterEmail;
+            this.sections = sections;
+        }
+
+        public void submit(BatchDocument document) {
+            futures.add(completionService.submit(() -> summarize(document, requesterEmail, sections)));
+        }
+
+        public int size() {
+            return futures.size();
+        }
+
+        /**
+         * Waits for the next finished document.
+         */
+        public BatchSummaryResult take() throws InterruptedException {
+            return result(completionService.take());
+        }
+
+        /**
+         * Returns the next finished document, or null if none has finished yet.
+         */
+        public BatchSummaryResult poll() throws InterruptedException {
+            Future<BatchSummaryResult> future = completionService.poll();
+            return future != null ? result(future) : null;
+        }
+
+        private BatchSummaryResult result(Future<BatchSummaryResult> future) throws InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                // summarize() catches its own failures, so this only happens if the task itself broke
+                throw new IllegalStateException("Batch task failed", e.getCause());
+            }
+        }
+
+        public void cancel() {
+            for (Future<BatchSummaryResult> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private BatchSummaryResult summarize(BatchDocument document, String requesterEmail, Set<SummarySection> sections) {
+        if (document.getText() == null || document.getText().isBlank()) {
+            return new BatchSummaryResult(document.getId(), null, "Document text is empty");
+        }
+        try {
+            limiter.acquire();
+        } catch (InterruptedException e) {
+            // The batch was cancelled while this document waited for a slot
+            Thread.currentThread().interrupt();
+            return new BatchSummaryResult(document.getId(), null, "Batch cancelled");
+        }
+        try {
+            return new BatchSummaryResult(document.getId(), summarizationService.summarize(document.getText(), requesterEmail, sections), null);
+        } catch (Exception e) {
+            logger.warn("Failed to summarize batch document '{}'", document.getId(), e);
+            return new BatchSummaryResult(document.getId(), null, "Summarization failed");
+        } finally {
+            limiter.release();
+        }
+    }
+}
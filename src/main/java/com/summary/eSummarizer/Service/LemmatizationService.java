@@ -1,42 +1,46 @@
 package com.summary.eSummarizer.Service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.summary.eSummarizer.Utils.InstancePool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import opennlp.tools.lemmatizer.LemmatizerME;
-import opennlp.tools.lemmatizer.LemmatizerModel;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
-
 @Service
 public class LemmatizationService {
 
     private static final Logger logger = LoggerFactory.getLogger(LemmatizationService.class);
-    private final LemmatizerME lemmatizer;
+    // The model is immutable and shared; LemmatizerME is not thread-safe, so lemmatizers are pooled
+    private final InstancePool<LemmatizerME> lemmatizers;
     private final POSService posService;
+    // (POS tag, word) -> lemma, shared across requests; null when caching is disabled
+    private final Cache<String, String> lemmaCache;
 
     @Autowired
-    public LemmatizationService(POSService posService) {
+    public LemmatizationService(POSService posService, OpenNLPModels models, MeterRegistry meterRegistry,
+                                @Value("${opennlp.pool-size:0}") int poolSize,
+                                @Value("${opennlp.cache.lemma-capacity:100000}") long lemmaCacheCapacity) {
         this.posService = posService;
-
-        try {
-            // Load lemmatizer model
-            InputStream lemmatizerModelStream = getClass().getResourceAsStream("/models/openNLP/en-lemma.bin");
-            if (lemmatizerModelStream == null) {
-                throw new IOException("Lemmatizer model file not found: /models/openNLP/en-lemma.bin");
-            }
-
-            LemmatizerModel lemmatizerModel = new LemmatizerModel(lemmatizerModelStream);
-            this.lemmatizer = new LemmatizerME(lemmatizerModel);
-
-            logger.info("OpenNLP Lemmatizer loaded successfully");
-
-        } catch (IOException e) {
-            logger.error("Failed to load OpenNLP lemmatizer model", e);
-            throw new RuntimeException("Failed to initialize lemmatization service", e);
+        if (lemmaCacheCapacity > 0) {
+            this.lemmaCache = Caffeine.newBuilder()
+                    .maximumSize(lemmaCacheCapacity)
+                    .recordStats()
+                    .build();
+            // Publishes cache.gets (hit/miss), cache.evictions and cache.size under cache=opennlp.lemma
+            CaffeineCacheMetrics.monitor(meterRegistry, lemmaCache, "opennlp.lemma");
+        } else {
+            this.lemmaCache = null;
         }
+
+        // Lemmatizers are created on first use, waiting for the model if it is still loading
+        this.lemmatizers = new InstancePool<>(InstancePool.resolveSize(poolSize),
+                () -> new LemmatizerME(models.lemmatizerModel()));
     }
 
     public String lemmatize(String word) {
@@ -47,11 +51,7 @@ public class LemmatizationService {
             // Lemmatize using POS tag
             String[] tokens = { word };
             String[] posTags = { posTag };
-            String[] lemmas = lemmatizer.lemmatize(tokens, posTags);
-
-            String lemma = lemmas[0];
-            // OpenNLP returns "O" when it can't lemmatize
-            return "O".equals(lemma) ? word : lemma;
+            return lemmatize(tokens, posTags)[0];
 
         } catch (Exception e) {
             logger.warn("Failed to lemmatize word '{}', returning original", word, e);
@@ -63,17 +63,66 @@ public class LemmatizationService {
     public String[] lemmatize(String[] words) {
         try {
             String[] posTags = posService.getPartsOfSpeech(words);
-            return lemmatizer.lemmatize(words, posTags);
+            return lemmatize(words, posTags);
         } catch (Exception e) {
             logger.warn("Failed to lemmatize word array, returning original", e);
             return words;
         }
     }
 
-    // Method that takes pre-computed POS tags (for efficiency)
+    // Method that takes pre-computed POS tags (for efficiency); cached lemmas are reused
+    // and only the missing (word, tag) pairs are sent to the lemmatizer
     public String[] lemmatize(String[] words, String[] posTags) {
+        if (lemmaCache == null) {
+            return lemmatizeUncached(words, posTags);
+        }
+        String[] lemmas = new String[words.length];
+        int[] missing = new int[words.length];
+        int missingCount = 0;
+        for (int i = 0; i < words.length; i++) {
+            String lemma = lemmaCache.getIfPresent(cacheKey(words[i], posTags[i]));
+            if (lemma != null) {
+                lemmas[i] = lemma;
+            } else {
+                missing[missingCount++] = i;
+            }
+        }
+        if (missingCount == 0) {
+            return lemmas;
+        }
+
+        String[] missingWords = new String[missingCount];
+        String[] missingTags = new String[missingCount];
+        for (int k = 0; k < missingCount; k++) {
+            missingWords[k] = words[missing[k]];
+            missingTags[k] = posTags[missing[k]];
+        }
+        String[] computed = lemmatizeUncached(missingWords, missingTags);
+        // On failure the input words are returned as-is; those must not be cached as lemmas
+        boolean succeeded = computed != missingWords;
+        for (int k = 0; k < missingCount; k++) {
+            lemmas[missing[k]] = computed[k];
+            if (succeeded) {
+                lemmaCache.put(cacheKey(missingWords[k], missingTags[k]), computed[k]);
+            }
+        }
+        return lemmas;
+    }
+
+    private static String cacheKey(String word, String posTag) {
+        return posTag + ' ' + word;
+    }
+
+    private String[] lemmatizeUncached(String[] words, String[] posTags) {
         try {
-            return lemmatizer.lemmatize(words, posTags);
+            String[] lemmas = lemmatizers.withInstance(lemmatizer -> lemmatizer.lemmatize(words, posTags));
+            // OpenNLP returns "O" when it can't lemmatize
+            for (int i = 0; i < lemmas.length; i++) {
+                if ("O".equals(lemmas[i])) {
+                    lemmas[i] = words[i];
+                }
+            }
+            return lemmas;
         } catch (Exception e) {
             logger.warn("Failed to lemmatize word array with POS tags, returning original", e);
             return words;
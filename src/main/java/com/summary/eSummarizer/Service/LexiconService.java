@@ -0,0 +1,108 @@
+package com.summary.eSummarizer.Service;
+
+import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.Utils.Lexicon;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the stopword lexicon used by preprocessing. The built-in list is loaded from the
+ * classpath; when an external file is configured it takes precedence and is checked
+ * periodically, and a changed file is rebuilt off the request path and swapped in as a whole,
+ * so readers always see either the old or the new table.
+ */
+@Service
+public class LexiconService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LexiconService.class);
+
+    private static final String BUILT_IN_STOPWORDS = "/CSV/stopwords.csv";
+
+    private final CSVLoaderService csvLoaderService;
+    private final Path stopwordsFile;
+    private final ScheduledExecutorService reloadScheduler;
+
+    private volatile Lexicon stopwords;
+    private volatile FileTime stopwordsModified;
+
+    public LexiconService(CSVLoaderService csvLoaderService,
+                          @Value("${summarizer.lexicon.stopwords-file:}") String stopwordsFile,
+                          @Value("${summarizer.lexicon.reload-interval:30s}") Duration reloadInterval) {
+        this.csvLoaderService = csvLoaderService;
+        this.stopwordsFile = stopwordsFile.isBlank() ? null : Path.of(stopwordsFile);
+        this.stopwords = Lexicon.of(csvLoaderService.loadAsSet(BUILT_IN_STOPWORDS));
+        if (this.stopwordsFile != null) {
+            reloadStopwords();
+        }
+
+        if (this.stopwordsFile != null && !reloadInterval.isZero()) {
+            this.reloadScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lexicon-reload");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = reloadInterval.toMillis();
+            reloadScheduler.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            this.reloadScheduler = null;
+        }
+    }
+
+    public Lexicon getStopwords() {
+        return stopwords;
+    }
+
+    /**
+     * Rebuilds the stopword lexicon from the external file and swaps it in. On failure the
+     * current lexicon is kept.
+     *
+     * @return true if a new lexicon was installed.
+     */
+    public boolean reloadStopwords() {
+        if (stopwordsFile == null) {
+            return false;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(stopwordsFile);
+            Lexicon reloaded = Lexicon.of(csvLoaderService.loadAsSet(stopwordsFile));
+            stopwords = reloaded;
+            stopwordsModified = modified;
+            logger.info("Installed {} stopwords from {}", reloaded.size(), stopwordsFile);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not load stopwords from {}, keeping {} current stopwords: {}",
+                    stopwordsFile, stopwords.size(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void reloadIfModified() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(stopwordsFile);
+            if (!modified.equals(stopwordsModified)) {
+                reloadStopwords();
+            }
+        } catch (IOException e) {
+            logger.debug("Stopwords file {} is not readable: {}", stopwordsFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (reloadScheduler != null) {
+            reloadScheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.summary.eSummarizer.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import opennlp.tools.lemmatizer.LemmatizerModel;
+import opennlp.tools.postag.POSModel;
+import opennlp.tools.sentdetect.SentenceModel;
+import opennlp.tools.tokenize.TokenizerModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads the OpenNLP models concurrently in the background, so the application
+ * context (and the HTTP port) comes up without waiting for them. Callers that
+ * need a model before it is loaded block until it is; readiness is reported by
+ * {@link OpenNLPModelsHealthIndicator} so traffic is held back until then.
+ */
+@Service
+public class OpenNLPModels {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenNLPModels.class);
+
+    private final Map<String, LoadingModel<?>> models = new LinkedHashMap<>();
+    private final LoadingModel<SentenceModel> sentenceModel;
+    private final LoadingModel<TokenizerModel> tokenizerModel;
+    private final LoadingModel<POSModel> posModel;
+    private final LoadingModel<LemmatizerModel> lemmatizerModel;
+
+    public OpenNLPModels(MeterRegistry meterRegistry) {
+        // One platform thread per model; parsing the binaries is CPU-bound
+        ExecutorService loader = Executors.newThreadPerTaskExecutor(
+                Thread.ofPlatform().name("opennlp-model-loader-", 1).daemon().factory());
+        this.sentenceModel = load(loader, meterRegistry, "sentence", "/models/openNLP/en-sent.bin", SentenceModel::new);
+        this.tokenizerModel = load(loader, meterRegistry, "tokenizer", "/models/openNLP/en-token.bin", TokenizerModel::new);
+        this.posModel = load(loader, meterRegistry, "pos", "/models/openNLP/en-pos.bin", POSModel::new);
+        this.lemmatizerModel = load(loader, meterRegistry, "lemmatizer", "/models/openNLP/en-lemma.bin", LemmatizerModel::new);
+        // Lets the running loads finish, then the threads exit
+        loader.shutdown();
+    }
+
+    public SentenceModel sentenceModel() {
+        return sentenceModel.await();
+    }
+
+    public TokenizerModel tokenizerModel() {
+        return tokenizerModel.await();
+    }
+
+    public POSModel posModel() {
+        return posModel.await();
+    }
+
+    public LemmatizerModel lemmatizerModel() {
+        return lemmatizerModel.await();
+    }
+
+    /**
+     * @return true once every model has loaded successfully.
+     */
+    public boolean isReady() {
+        for (LoadingModel<?> model : models.values()) {
+            if (!model.future.isDone() || model.future.isCompletedExceptionally()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return Each model's state: "loading", "loaded in N ms" or "failed: reason".
+     */
+    public Map<String, String> getStatus() {
+        Map<String, String> status = new LinkedHashMap<>();
+        models.forEach((name, model) -> status.put(name, model.describe()));
+        return status;
+    }
+
+    private <M> LoadingModel<M> load(ExecutorService loader, MeterRegistry meterRegistry, String name, String path,
+                                     ModelParser<M> parser) {
+        Timer loadTimer = Timer.builder("opennlp.model.load")
+                .description("Time taken to load an OpenNLP model")
+                .tag("model", name)
+                .register(meterRegistry);
+        LoadingModel<M> model = new LoadingModel<>();
+        model.future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            try (InputStream in = OpenNLPModels.class.getResourceAsStream(path)) {
+                if (in == null) {
+                    throw new IOException("OpenNLP " + name + " model not found at " + path);
+                }
+                M loaded = parser.parse(in);
+                long elapsed = System.nanoTime() - start;
+                loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                model.loadMillis = TimeUnit.NANOSECONDS.toMillis(elapsed);
+                logger.info("Loaded OpenNLP {} model from {} in {} ms", name, path, model.loadMillis);
+                return loaded;
+            } catch (IOException e) {
+                logger.error("Failed to load OpenNLP {} model from {}", name, path, e);
+                throw new UncheckedIOException(e);
+            }
+        }, loader);
+        models.put(name, model);
+        return model;
+    }
+
+    @FunctionalInterface
+    private interface ModelParser<M> {
+        M parse(InputStream in) throws IOException;
+    }
+
+    private static final class LoadingModel<M> {
+        private CompletableFuture<M> future;
+        private volatile long loadMillis;
+
+        M await() {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("OpenNLP model failed to load", e.getCause());
+            }
+        }
+
+        String describe() {
+            if (!future.isDone()) {
+                return "loading";
+            }
+            try {
+                future.join();
+                return "loaded in " + loadMillis + " ms";
+            } catch (CompletionException e) {
+                return "failed: " + e.getCause().getMessage();
+            }
+        }
+    }
+}
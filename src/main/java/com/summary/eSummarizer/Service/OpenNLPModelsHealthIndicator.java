@@ -0,0 +1,29 @@
+package com.summary.eSummarizer.Service;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports OUT_OF_SERVICE while the OpenNLP models are still loading and DOWN if
+ * any failed. Part of the readiness group, so the orchestrator only routes
+ * traffic once every model is in memory.
+ */
+@Component("opennlpModelsHealthIndicator")
+public class OpenNLPModelsHealthIndicator implements HealthIndicator {
+
+    private final OpenNLPModels models;
+
+    public OpenNLPModelsHealthIndicator(OpenNLPModels models) {
+        this.models = models;
+    }
+
+    @Override
+    public Health health() {
+        if (models.isReady()) {
+            return Health.up().withDetails(models.getStatus()).build();
+        }
+        boolean failed = models.getStatus().values().stream().anyMatch(state -> state.startsWith("failed"));
+        return (failed ? Health.down() : Health.outOfService()).withDetails(models.getStatus()).build();
+    }
+}
@@ -1,43 +1,28 @@
 package com.summary.eSummarizer.Service;
 
-import opennlp.tools.postag.POSModel;
+import com.summary.eSummarizer.Utils.InstancePool;
 import opennlp.tools.postag.POSTaggerME;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-import java.io.InputStream;
-
 @Service
 public class POSService {
 
     private static final Logger logger = LoggerFactory.getLogger(POSService.class);
-    private final POSTaggerME posTagger;
-
-    public POSService() {
-        try {
-            // Load POS tagger model
-            InputStream posModelStream = getClass().getResourceAsStream("/models/openNLP/en-pos.bin");
-            if (posModelStream == null) {
-                throw new IOException("POS model file not found: /models/openNLP/en-pos.bin");
-            }
+    // The model is immutable and shared; POSTaggerME is not thread-safe, so taggers are pooled
+    private final InstancePool<POSTaggerME> posTaggers;
 
-            POSModel posModel = new POSModel(posModelStream);
-            this.posTagger = new POSTaggerME(posModel);
-
-            logger.info("OpenNLP POS Tagger loaded successfully");
-
-        } catch (IOException e) {
-            logger.error("Failed to load OpenNLP POS model", e);
-            throw new RuntimeException("Failed to initialize POS service", e);
-        }
+    public POSService(OpenNLPModels models, @Value("${opennlp.pool-size:0}") int poolSize) {
+        // Taggers are created on first use, waiting for the model if it is still loading
+        this.posTaggers = new InstancePool<>(InstancePool.resolveSize(poolSize), () -> new POSTaggerME(models.posModel()));
     }
 
     public String getPartOfSpeech(String word) {
         try {
             String[] tokens = { word };
-            String[] posTags = posTagger.tag(tokens);
+            String[] posTags = posTaggers.withInstance(tagger -> tagger.tag(tokens));
             return posTags[0];
 
         } catch (Exception e) {
@@ -49,7 +34,7 @@ public class POSService {
     // Batch processing method for better performance
     public String[] getPartsOfSpeech(String[] words) {
         try {
-            return posTagger.tag(words);
+            return posTaggers.withInstance(tagger -> tagger.tag(words));
         } catch (Exception e) {
             logger.warn("Failed to get POS for word array, returning UNK array", e);
             String[] unknownTags = new String[words.length];
@@ -59,4 +44,4 @@ public class POSService {
             return unknownTags;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,131 @@
+package com.summary.eSummarizer.Service;
+
+import com.summary.eSummarizer.DTO.SummaryJob;
+import com.summary.eSummarizer.DTO.SummarySection;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class SummarizationJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummarizationJobService.class);
+
+    private final SummarizationService summarizationService;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService evictionScheduler;
+    private final Map<String, SummaryJob> jobs = new ConcurrentHashMap<>();
+    private final Duration resultTtl;
+    private final Duration retryAfter;
+
+    public SummarizationJobService(SummarizationService summarizationService,
+                                   @Value("${summarizer.jobs.threads:2}") int threads,
+                                   @Value("${summarizer.jobs.queue-capacity:100}") int queueCapacity,
+                                   @Value("${summarizer.jobs.result-ttl:10m}") Duration resultTtl,
+                                   @Value("${summarizer.jobs.retry-after:5s}") Duration retryAfter) {
+        this.summarizationService = summarizationService;
+        this.resultTtl = resultTtl;
+        this.retryAfter = retryAfter;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Bounded queue with the default abort policy: submissions beyond it are rejected, not buffered
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "summarize-job-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.evictionScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "summarize-job-eviction");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long sweepMillis = Math.max(1000L, resultTtl.toMillis() / 2);
+        evictionScheduler.scheduleWithFixedDelay(this::evictExpired, sweepMillis, sweepMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queues a summarization job.
+     *
+     * @param text           The text to summarize.
+     * @param requesterEmail The submitting user's email, or null for anonymous submissions.
+     * @param sections       The sections to include in the result.
+     * @return The queued job.
+     * @throws RejectedExecutionException if the job queue is full.
+     */
+    public SummaryJob submit(String text, String requesterEmail, Set<SummarySection> sections) {
+        SummaryJob job = new SummaryJob(UUID.randomUUID().toString(), requesterEmail);
+        jobs.put(job.getId(), job);
+        try {
+            executor.execute(() -> run(job, text, requesterEmail, sections));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Looks up a job.
+     *
+     * @param id             The job id.
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     * @return The job, or empty if it does not exist, has expired or belongs to someone else.
+     */
+    public Optional<SummaryJob> find(String id, String requesterEmail) {
+        SummaryJob job = jobs.get(id);
+        return job != null && Objects.equals(job.getOwnerEmail(), requesterEmail) ? Optional.of(job) : Optional.empty();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the Retry-After value, in whole seconds, to send when the job queue is full.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, retryAfter.toSeconds());
+    }
+
+    private void run(SummaryJob job, String text, String requesterEmail, Set<SummarySection> sections) {
+        job.markRunning();
+        try {
+            job.complete(summarizationService.summarize(text, requesterEmail, sections));
+        } catch (Exception e) {
+            // The details stay in the log; job results are readable by anonymous pollers
+            logger.error("Summarization job {} failed", job.getId(), e);
+            job.fail("Summarization failed");
+        }
+    }
+
+    // Drop finished jobs whose results have been kept longer than the TTL
+    private void evictExpired() {
+        Instant cutoff = Instant.now().minus(resultTtl);
+        jobs.values().removeIf(job -> job.getCompletedAt() != null && job.getCompletedAt().isBefore(cutoff));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evictionScheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,118 @@
+package com.summary.eSummarizer.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for the CPU-bound summarization work. At most
+ * {@code maxConcurrent} summarizations run at once; further callers wait up to
+ * {@code queueTimeout} in a queue of at most {@code maxQueued}, and are rejected
+ * after that so latency stays bounded instead of growing with the backlog.
+ */
+@Service
+public class SummarizationLimiter {
+
+    private final Semaphore permits;
+    private final int permitCount;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Timer queueWait;
+    private final Counter rejections;
+
+    public SummarizationLimiter(MeterRegistry meterRegistry,
+                                @Value("${summarizer.admission.max-concurrent:0}") int maxConcurrent,
+                                @Value("${summarizer.admission.max-queued:64}") int maxQueued,
+                                @Value("${summarizer.admission.queue-timeout:500ms}") Duration queueTimeout,
+                                @Value("${summarizer.admission.retry-after:1s}") Duration retryAfter) {
+        this.permitCount = maxConcurrent > 0 ? maxConcurrent : Runtime.getRuntime().availableProcessors();
+        this.permits = new Semaphore(permitCount, true);
+        this.maxQueued = maxQueued;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+        this.queueWait = Timer.builder("summarize.admission.wait")
+                .description("Time spent waiting for a summarization slot")
+                .register(meterRegistry);
+        this.rejections = Counter.builder("summarize.admission.rejected")
+                .description("Summarization requests rejected by admission control")
+                .register(meterRegistry);
+        Gauge.builder("summarize.inflight", inFlight, AtomicInteger::get)
+                .description("Summarizations currently running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits briefly for a slot. A successful call must be paired with {@link #release()}.
+     *
+     * @return true if a slot was acquired, false if the request should be rejected.
+     */
+    public boolean tryAcquire() {
+        if (permits.getQueueLength() >= maxQueued) {
+            rejections.increment();
+            return false;
+        }
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejections.increment();
+            return false;
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Waits for a slot however long it takes, for background work such as batch documents,
+     * which should be delayed rather than rejected. The semaphore is fair, so a waiting
+     * background caller is served in arrival order with interactive ones; callers must
+     * bound how many of them hold or wait for a slot at once, as the batch executor does,
+     * to leave the remaining slots to interactive requests. Must be paired with {@link #release()}.
+     *
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    public void acquire() throws InterruptedException {
+        long start = System.nanoTime();
+        try {
+            permits.acquire();
+        } finally {
+            queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Returns the number of summarizations allowed to run at once.
+     */
+    public int getMaxConcurrent() {
+        return permitCount;
+    }
+
+    public void release() {
+        inFlight.decrementAndGet();
+        permits.release();
+    }
+
+    /**
+     * Returns the Retry-After value, in whole seconds, to send with a rejection.
+     */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, retryAfter.toSeconds());
+    }
+}
@@ -0,0 +1,185 @@
+package com.summary.eSummarizer.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.summary.eSummarizer.DTO.CompactGraph;
+import com.summary.eSummarizer.DTO.PipelineTrace;
+import com.summary.eSummarizer.DTO.SentenceRank;
+import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.DTO.SummarySection;
+import com.summary.eSummarizer.Summarizer.TextRankSummarizer;
+import com.summary.eSummarizer.Utils.ContentHash;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Front door to the summarizer. Results are cached in memory and in the database,
+ * keyed by a hash of the normalized input text plus the summarizer parameters, so
+ * repeated submissions are answered without running the NLP pipeline, even after
+ * a restart.
+ */
+@Service
+public class SummarizationService {
+
+    // Rough per-object overheads used to estimate the retained size of a cached result
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+
+    private final TextRankSummarizer summarizer;
+    private final SummaryStoreService summaryStore;
+    private final PipelineMetrics metrics;
+    // null when caching is disabled
+    private final Cache<String, SummaryInfo> resultCache;
+
+    public SummarizationService(TextRankSummarizer summarizer, SummaryStoreService summaryStore,
+                                PipelineMetrics metrics, MeterRegistry meterRegistry,
+                                @Value("${summarizer.cache.max-size:64MB}") DataSize maxSize,
+                                @Value("${summarizer.cache.ttl:1h}") Duration ttl) {
+        this.summarizer = summarizer;
+        this.summaryStore = summaryStore;
+        this.metrics = metrics;
+        if (maxSize.toBytes() > 0) {
+            this.resultCache = Caffeine.newBuilder()
+                    .maximumWeight(maxSize.toBytes())
+                    .weigher((String key, SummaryInfo summary) -> estimateSize(key, summary))
+                    .expireAfterWrite(ttl)
+                    .recordStats()
+                    .build();
+            // Publishes cache.gets (hit/miss), cache.evictions and cache.size under cache=summary.result
+            CaffeineCacheMetrics.monitor(meterRegistry, resultCache, "summary.result");
+        } else {
+            this.resultCache = null;
+        }
+    }
+
+    /**
+     * Returns the cache key for the given text under the current summarizer parameters.
+     * Results with and without the sentence graph are cached separately, so the graph
+     * is only computed and stored for requests that ask for it.
+     */
+    public String cacheKey(String text, Set<SummarySection> sections) {
+        String parameters = summarizer.getParametersKey();
+        return ContentHash.of(text, SummarySection.needsGraph(sections) ? parameters + ";graph" : parameters);
+    }
+
+    /**
+     * Looks up a previously computed summary, first in memory and then in the database.
+     * A hit is recorded in the requester's history.
+     *
+     * @param cacheKey       The key from {@link #cacheKey(String, Set)}.
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     * @param sections       The sections to return.
+     * @return The stored summary projected to the requested sections, if any.
+     */
+    public Optional<SummaryInfo> findCached(String cacheKey, String requesterEmail, Set<SummarySection> sections) {
+        return findStored(cacheKey, requesterEmail, true).map(summary -> summary.project(sections));
+    }
+
+    /**
+     * Summarizes the text on behalf of a user, reusing a stored result when there is one.
+     */
+    public SummaryInfo summarize(String text, String requesterEmail, Set<SummarySection> sections) {
+        String cacheKey = cacheKey(text, sections);
+        SummaryInfo summary = findStored(cacheKey, requesterEmail, true).orElse(null);
+        return (summary != null ? summary : compute(text, cacheKey, requesterEmail, sections)).project(sections);
+    }
+
+    /**
+     * Summarizes text that {@link #findCached} has just missed. Only the in-memory cache is
+     * checked again, for a result another request finished meanwhile; the database is not
+     * queried a second time. New results are written to the database in the background.
+     */
+    public SummaryInfo summarize(String text, String cacheKey, String requesterEmail, Set<SummarySection> sections) {
+        SummaryInfo summary = findStored(cacheKey, requesterEmail, false).orElse(null);
+        return (summary != null ? summary : compute(text, cacheKey, requesterEmail, sections)).project(sections);
+    }
+
+    private SummaryInfo compute(String text, String cacheKey, String requesterEmail, Set<SummarySection> sections) {
+        // Computed outside the cache so a long summarization never holds a lock shared with other keys
+        SummaryInfo summary = summarizer.summarize(text, SummarySection.needsGraph(sections));
+        if (resultCache != null) {
+            resultCache.put(cacheKey, summary);
+        }
+        summaryStore.saveAsync(cacheKey, summary, requesterEmail);
+        return summary;
+    }
+
+    /**
+     * Summarizes the text afresh with a pipeline trace attached, bypassing the stored
+     * results so the trace reflects a real run. The result is still cached and stored.
+     *
+     * @return The projected summary, with the trace as its diagnostics.
+     */
+    public SummaryInfo summarizeTraced(String text, String cacheKey, String requesterEmail,
+                                       Set<SummarySection> sections) {
+        PipelineTrace trace = new PipelineTrace();
+        long start = System.nanoTime();
+        SummaryInfo summary;
+        try (PipelineMetrics.TraceScope scope = metrics.startTrace(trace)) {
+            summary = summarizer.summarize(text, SummarySection.needsGraph(sections));
+        }
+        trace.setTotalMillis((System.nanoTime() - start) / 1_000_000.0);
+        if (resultCache != null) {
+            resultCache.put(cacheKey, summary);
+        }
+        summaryStore.saveAsync(cacheKey, summary, requesterEmail);
+        SummaryInfo view = summary.project(sections);
+        view.setDiagnostics(trace);
+        return view;
+    }
+
+    private Optional<SummaryInfo> findStored(String cacheKey, String requesterEmail, boolean queryDatabase) {
+        SummaryInfo summary = resultCache == null ? null : resultCache.getIfPresent(cacheKey);
+        if (summary == null && queryDatabase) {
+            summary = summaryStore.find(cacheKey).orElse(null);
+            if (summary != null && resultCache != null) {
+                resultCache.put(cacheKey, summary);
+            }
+        }
+        if (summary != null) {
+            summaryStore.recordRequestAsync(cacheKey, requesterEmail);
+        }
+        return Optional.ofNullable(summary);
+    }
+
+    private static int estimateSize(String key, SummaryInfo summary) {
+        return (int) Math.min(Integer.MAX_VALUE, OBJECT_OVERHEAD + stringSize(key) + estimateSize(summary));
+    }
+
+    /**
+     * Estimates the memory retained by a summary, including its sentence texts and graph.
+     */
+    static long estimateSize(SummaryInfo summary) {
+        long size = OBJECT_OVERHEAD + stringSize(summary.getSummarizedText()) + 64;
+        size += listSize(summary.getSentenceRanks());
+        if (summary.getSentenceRanks() != null) {
+            for (SentenceRank rank : summary.getSentenceRanks()) {
+                size += OBJECT_OVERHEAD + 16 + stringSize(rank.getSentence());
+            }
+        }
+        CompactGraph graph = summary.getCompactGraph();
+        if (graph != null) {
+            size += OBJECT_OVERHEAD + 3L * (OBJECT_OVERHEAD + 8)
+                    + 4L * (graph.getScores().length + graph.getSources().length + graph.getTargets().length);
+        }
+        return size;
+    }
+
+    private static long stringSize(String value) {
+        // Latin-1 strings take one byte per char, others two; assume the worst case
+        return value == null ? 0 : OBJECT_OVERHEAD + 24 + 2L * value.length();
+    }
+
+    private static long listSize(List<?> list) {
+        return list == null ? 0 : OBJECT_OVERHEAD + 24 + (long) REFERENCE_SIZE * list.size();
+    }
+}
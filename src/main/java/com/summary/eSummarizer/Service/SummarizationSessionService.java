@@ -0,0 +1,133 @@
+package com.summary.eSummarizer.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.DTO.SummarySection;
+import com.summary.eSummarizer.Summarizer.DocumentSnapshot;
+import com.summary.eSummarizer.Summarizer.TextRankSummarizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Editing sessions for clients that resubmit a document after every change. Each
+ * session keeps the snapshot of the last version it summarized, so the next version
+ * only annotates and rescores the sentences that changed and warm-starts the ranking. Session
+ * results are drafts: they bypass the result cache, the database and the history.
+ * Sessions are bounded by the approximate memory their snapshots retain, since one
+ * large document outweighs many small ones.
+ */
+@Service
+public class SummarizationSessionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummarizationSessionService.class);
+
+    private final TextRankSummarizer summarizer;
+    private final Cache<String, EditSession> sessions;
+
+    public SummarizationSessionService(TextRankSummarizer summarizer, MeterRegistry meterRegistry,
+                                       @Value("${summarizer.sessions.max-size:256MB}") DataSize maxSize,
+                                       @Value("${summarizer.sessions.idle-timeout:30m}") Duration idleTimeout) {
+        this.summarizer = summarizer;
+        this.sessions = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String id, EditSession session) -> session.estimateSize())
+                .expireAfterAccess(idleTimeout)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sessions, "summary.session");
+    }
+
+    /**
+     * Opens an empty session.
+     *
+     * @param requesterEmail The owner's email, or null for an anonymous session.
+     * @return The session id.
+     */
+    public String open(String requesterEmail) {
+        String id = UUID.randomUUID().toString();
+        sessions.put(id, new EditSession(requesterEmail));
+        return id;
+    }
+
+    /**
+     * Summarizes the current text of a session, reusing the work done for its previous version.
+     * Updates to the same session run one at a time.
+     *
+     * @param id             The session id.
+     * @param text           The full current text.
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     * @param sections       The sections to return.
+     * @return The summary, or empty if the session does not exist, has expired or belongs to someone else.
+     */
+    public Optional<SummaryInfo> update(String id, String text, String requesterEmail, Set<SummarySection> sections) {
+        EditSession session = find(id, requesterEmail);
+        if (session == null) {
+            return Optional.empty();
+        }
+        // A lock rather than a monitor, so a waiting virtual thread does not pin its carrier
+        session.lock.lock();
+        try {
+            DocumentSnapshot snapshot = summarizer.summarize(text, SummarySection.needsGraph(sections), session.snapshot);
+            session.snapshot = snapshot;
+            // Replacing the entry with itself re-weighs it for the new snapshot; an expired session stays gone
+            sessions.asMap().replace(id, session, session);
+            logger.debug("Session {}: reused {} of {} sentences", id, snapshot.getReusedSentences(),
+                    snapshot.getSentenceCount());
+            return Optional.of(snapshot.getSummary().project(sections));
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Discards a session.
+     *
+     * @return true if the session existed and belonged to the requester.
+     */
+    public boolean close(String id, String requesterEmail) {
+        if (find(id, requesterEmail) == null) {
+            return false;
+        }
+        sessions.invalidate(id);
+        return true;
+    }
+
+    private EditSession find(String id, String requesterEmail) {
+        EditSession session = sessions.getIfPresent(id);
+        return session != null && Objects.equals(session.ownerEmail, requesterEmail) ? session : null;
+    }
+
+    private static final class EditSession {
+        private final String ownerEmail;
+        private final ReentrantLock lock = new ReentrantLock();
+        // Guarded by lock
+        private DocumentSnapshot snapshot;
+
+        private EditSession(String ownerEmail) {
+            this.ownerEmail = ownerEmail;
+        }
+
+        // Called by the weigher from open, before the session is shared, and from update, under the lock
+        private int estimateSize() {
+            long size = 128;
+            DocumentSnapshot current = snapshot;
+            if (current != null) {
+                size += current.estimateSize() + SummarizationService.estimateSize(current.getSummary());
+            }
+            return (int) Math.min(Integer.MAX_VALUE, size);
+        }
+    }
+}
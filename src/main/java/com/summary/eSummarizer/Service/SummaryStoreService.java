@@ -0,0 +1,212 @@
+package com.summary.eSummarizer.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.summary.eSummarizer.DTO.SummaryHistoryEntry;
+import com.summary.eSummarizer.DTO.SummaryHistoryPage;
+import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.Model.SummaryModel;
+import com.summary.eSummarizer.Model.SummaryRequestModel;
+import com.summary.eSummarizer.Model.UserModel;
+import com.summary.eSummarizer.Repository.MyAppUserRepository;
+import com.summary.eSummarizer.Repository.SummaryRepository;
+import com.summary.eSummarizer.Repository.SummaryRequestRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Persists computed summaries in the database, keyed by content hash, so results
+ * survive restarts, and records which users requested them. Writes are queued to
+ * a single background thread so persistence never adds latency to a request;
+ * when the write queue is full the write is dropped and the result is simply
+ * recomputed next time.
+ */
+@Service
+public class SummaryStoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SummaryStoreService.class);
+
+    private final SummaryRepository summaryRepository;
+    private final SummaryRequestRepository requestRepository;
+    private final MyAppUserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final ThreadPoolExecutor writer;
+
+    public SummaryStoreService(SummaryRepository summaryRepository,
+                               SummaryRequestRepository requestRepository,
+                               MyAppUserRepository userRepository,
+                               ObjectMapper objectMapper,
+                               @Value("${summarizer.store.enabled:true}") boolean enabled,
+                               @Value("${summarizer.store.write-queue-capacity:1000}") int writeQueueCapacity) {
+        this.summaryRepository = summaryRepository;
+        this.requestRepository = requestRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        // One writer keeps inserts ordered and avoids racing ourselves on the unique content hash
+        this.writer = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(writeQueueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "summary-store-writer");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Looks up a stored summary.
+     *
+     * @param contentHash The content hash of the text and summarizer parameters.
+     * @return The stored summary, or empty if there is none or it cannot be read.
+     */
+    public Optional<SummaryInfo> find(String contentHash) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            return summaryRepository.findByContentHash(contentHash).map(this::readSummary);
+        } catch (RuntimeException e) {
+            // The store is only a cache; fall back to summarizing if the database is unavailable
+            logger.warn("Failed to read stored summary {}", contentHash, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Queues a freshly computed summary for storage, along with the request that produced it.
+     *
+     * @param contentHash    The content hash of the text and summarizer parameters.
+     * @param summary        The computed summary.
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     */
+    public void saveAsync(String contentHash, SummaryInfo summary, String requesterEmail) {
+        if (enabled) {
+            enqueue(() -> {
+                SummaryModel stored = findOrInsert(contentHash, summary);
+                recordRequest(stored, requesterEmail);
+            });
+        }
+    }
+
+    /**
+     * Queues a history entry for a request that was answered from an already stored summary.
+     * Anonymous requests are not recorded.
+     *
+     * @param contentHash    The content hash of the text and summarizer parameters.
+     * @param requesterEmail The requesting user's email, or null for anonymous requests.
+     */
+    public void recordRequestAsync(String contentHash, String requesterEmail) {
+        if (enabled && requesterEmail != null) {
+            enqueue(() -> summaryRepository.findByContentHash(contentHash)
+                    .ifPresent(stored -> recordRequest(stored, requesterEmail)));
+        }
+    }
+
+    /**
+     * Returns one page of a user's summary history, newest first.
+     *
+     * @param user     The user.
+     * @param beforeId Only entries older than this request id are returned; null starts from the newest.
+     * @param limit    Maximum number of entries.
+     * @return The page and the cursor for the next one.
+     */
+    public SummaryHistoryPage history(UserModel user, Long beforeId, int limit) {
+        long before = beforeId == null ? Long.MAX_VALUE : beforeId;
+        // Fetch one extra row to learn whether another page exists
+        List<SummaryHistoryEntry> entries = requestRepository.findHistory(user.getId(), before, Limit.of(limit + 1));
+        Long nextBefore = null;
+        if (entries.size() > limit) {
+            entries = entries.subList(0, limit);
+            nextBefore = entries.get(limit - 1).getId();
+        }
+        return new SummaryHistoryPage(entries, nextBefore);
+    }
+
+    private void enqueue(Runnable write) {
+        try {
+            writer.execute(() -> {
+                try {
+                    write.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Failed to persist summary", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Summary store write queue is full; dropping write");
+        }
+    }
+
+    private SummaryModel findOrInsert(String contentHash, SummaryInfo summary) {
+        Optional<SummaryModel> existing = summaryRepository.findByContentHash(contentHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        SummaryModel model = new SummaryModel();
+        model.setContentHash(contentHash);
+        model.setSummarizedText(summary.getSummarizedText());
+        model.setOriginalWordCount(summary.getOriginalWordCount());
+        model.setSummarizedWordCount(summary.getSummarizedWordCount());
+        model.setReductionRate(summary.getReductionRate());
+        model.setSummaryJson(writeSummary(summary));
+        model.setCreatedAt(Instant.now());
+        try {
+            return summaryRepository.save(model);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance stored the same content first
+            return summaryRepository.findByContentHash(contentHash).orElseThrow(() -> e);
+        }
+    }
+
+    private void recordRequest(SummaryModel summary, String requesterEmail) {
+        if (requesterEmail == null) {
+            return;
+        }
+        userRepository.findByEmail(requesterEmail).ifPresent(user -> {
+            SummaryRequestModel request = new SummaryRequestModel();
+            request.setUser(user);
+            request.setSummary(summary);
+            request.setRequestedAt(Instant.now());
+            requestRepository.save(request);
+        });
+    }
+
+    private String writeSummary(SummaryInfo summary) {
+        try {
+            return objectMapper.writeValueAsString(summary);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize summary", e);
+        }
+    }
+
+    private SummaryInfo readSummary(SummaryModel model) {
+        try {
+            return objectMapper.readValue(model.getSummaryJson(), SummaryInfo.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize stored summary " + model.getContentHash(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Let queued writes finish so results computed just before shutdown are kept
+        writer.shutdown();
+        if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("Summary store writer did not finish; {} writes dropped", writer.getQueue().size());
+            writer.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.Preprocessor.AnnotatedSentence;
+
+import com.summary.eSummarizer.Preprocessor.Vocabulary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of summarizing one version of a document, kept so the next version can
+ * be summarized incrementally: sentences whose text is unchanged reuse their
+ * annotations, and PageRank starts from their previous scores.
+ * <p>
+ * After an exact ranking the snapshot also keeps the similarity graph, its threshold
+ * and the IDF of every term. The next version pins that IDF and threshold, so pairs of
+ * unchanged sentences keep their edges and only the changed sentences are rescored.
+ */
+public final class DocumentSnapshot {
+
+    // Rough per-object overheads used to estimate the retained size of a snapshot
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+
+    private final String parametersKey;
+    private final List<String> sentences;
+    // null when the document was ranked in chunked mode
+    private final List<AnnotatedSentence> annotations;
+    private final double[] pageRankScores;
+    // null unless the document was ranked exactly
+    private final SentenceGraph graph;
+    private final double similarityThreshold;
+    private final Map<String, Double> termIdf;
+    private final SummaryInfo summary;
+    private final int reusedSentences;
+
+    // Built on first use, since most snapshots are never diffed against. A volatile field rather
+    // than a monitor keeps virtual threads unpinned; two threads racing just build equal maps.
+    private volatile Map<String, Integer> sentenceIndex;
+
+    /**
+     * Creates a snapshot.
+     *
+     * @param parametersKey   The summarizer parameters the document was ranked under.
+     * @param sentences       The sentences of the document.
+     * @param annotations     The annotation of every sentence, or null in chunked mode.
+     * @param ranking         The ranking of the whole document, or null in chunked mode.
+     * @param summary         The summary of the document.
+     * @param reusedSentences The number of annotations taken from the previous snapshot.
+     */
+    DocumentSnapshot(String parametersKey, List<String> sentences, List<AnnotatedSentence> annotations,
+                     SentenceRanking ranking, SummaryInfo summary, int reusedSentences) {
+        this.parametersKey = parametersKey;
+        this.sentences = sentences;
+        this.annotations = annotations;
+        this.pageRankScores = ranking == null ? null : ranking.getPageRankScores();
+        this.summary = summary;
+        this.reusedSentences = reusedSentences;
+        InvertedIndex index = ranking == null ? null : ranking.getIndex();
+        if (index == null) {
+            this.graph = null;
+            this.similarityThreshold = Double.NaN;
+            this.termIdf = null;
+        } else {
+            this.graph = ranking.getGraph();
+            this.similarityThreshold = ranking.getSimilarityThreshold();
+            Vocabulary vocabulary = index.getVocabulary();
+            this.termIdf = new HashMap<>(vocabulary.size() * 2);
+            for (int t = 0; t < vocabulary.size(); t++) {
+                termIdf.put(vocabulary.term(t), index.idf(t));
+            }
+        }
+    }
+
+    public SummaryInfo getSummary() {
+        return summary;
+    }
+
+    public int getSentenceCount() {
+        return sentences.size();
+    }
+
+    /**
+     * Returns how many sentences were carried over from the previous snapshot rather than annotated.
+     */
+    public int getReusedSentences() {
+        return reusedSentences;
+    }
+
+    /**
+     * Estimates the memory retained by the sentence list, annotations, scores and graph, not
+     * counting the summary. The sentence texts are the same strings the summary's ranks
+     * hold, so they are left to the summary's estimate.
+     *
+     * @return The approximate size in bytes.
+     */
+    public long estimateSize() {
+        long size = 2L * OBJECT_OVERHEAD + 24 + (long) REFERENCE_SIZE * sentences.size();
+        if (annotations != null) {
+            size += OBJECT_OVERHEAD + 8 + (long) Double.BYTES * pageRankScores.length;
+            size += OBJECT_OVERHEAD + 24 + (long) REFERENCE_SIZE * annotations.size();
+            for (AnnotatedSentence annotation : annotations) {
+                int tokens = annotation.getTokenCount();
+                // The object, five arrays, and per token a span, two references and a stopword flag
+                size += 2 * OBJECT_OVERHEAD + 5L * (OBJECT_OVERHEAD + 8) + tokens * (8L + 2 * REFERENCE_SIZE + 1);
+                for (int i = 0; i < tokens; i++) {
+                    // POS tags come from the tagger's fixed tag set and are not counted
+                    size += stringSize(annotation.getLemma(i));
+                }
+            }
+        }
+        if (graph != null) {
+            // Offsets, neighbors and inverse degrees
+            size += OBJECT_OVERHEAD + 3L * (OBJECT_OVERHEAD + 8) + 4L * (graph.size() + 1)
+                    + 4L * graph.edgeCount() + (long) Double.BYTES * graph.size();
+            // Table, entries and boxed IDFs; the terms are mostly the annotations' own lemmas
+            size += OBJECT_OVERHEAD + 4L * REFERENCE_SIZE * termIdf.size() + (32L + 2 * OBJECT_OVERHEAD) * termIdf.size();
+        }
+        // The sentence index the next version builds to diff against this one: table, entries and boxed ids
+        size += OBJECT_OVERHEAD + 4L * REFERENCE_SIZE * sentences.size() + (32L + OBJECT_OVERHEAD) * sentences.size();
+        return size;
+    }
+
+    String getParametersKey() {
+        return parametersKey;
+    }
+
+    boolean hasAnnotations() {
+        return annotations != null;
+    }
+
+    /**
+     * Returns the annotation of a sentence with exactly this text, or null if there is none.
+     */
+    AnnotatedSentence annotation(String sentence) {
+        Integer index = index().get(sentence);
+        return index == null ? null : annotations.get(index);
+    }
+
+    /**
+     * Returns the PageRank score of a sentence with exactly this text, or NaN if there is none.
+     */
+    double pageRankScore(String sentence) {
+        Integer index = index().get(sentence);
+        return index == null ? Double.NaN : pageRankScores[index];
+    }
+
+    /**
+     * Returns whether the graph, threshold and IDF of an exact ranking were kept, so a
+     * later version can update the graph instead of rebuilding it.
+     */
+    boolean hasGraph() {
+        return graph != null;
+    }
+
+    SentenceGraph getGraph() {
+        return graph;
+    }
+
+    double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    /**
+     * Returns the IDF every term of this version was weighted with, by term.
+     */
+    Map<String, Double> getTermIdf() {
+        return termIdf;
+    }
+
+    /**
+     * Matches the sentences of a new version to the sentences of this one by exact text.
+     * Each sentence of this version is matched at most once, so a sentence repeated in
+     * the new version counts as changed from its second occurrence on.
+     *
+     * @param newSentences The sentences of the new version.
+     * @return The index in this version of every new sentence, or -1 where there is none.
+     */
+    int[] matchSentences(List<String> newSentences) {
+        Map<String, Integer> index = index();
+        boolean[] matched = new boolean[sentences.size()];
+        int[] previousIds = new int[newSentences.size()];
+        Arrays.fill(previousIds, -1);
+        for (int i = 0; i < previousIds.length; i++) {
+            Integer id = index.get(newSentences.get(i));
+            if (id != null && !matched[id]) {
+                matched[id] = true;
+                previousIds[i] = id;
+            }
+        }
+        return previousIds;
+    }
+
+    private Map<String, Integer> index() {
+        Map<String, Integer> index = sentenceIndex;
+        if (index == null) {
+            index = new HashMap<>(sentences.size() * 2);
+            for (int i = 0; i < sentences.size(); i++) {
+                index.putIfAbsent(sentences.get(i), i);
+            }
+            sentenceIndex = index;
+        }
+        return index;
+    }
+
+    private static long stringSize(String value) {
+        // Latin-1 strings take one byte per char, others two; assume the worst case
+        return value == null ? 0 : OBJECT_OVERHEAD + 24 + 2L * value.length();
+    }
+}
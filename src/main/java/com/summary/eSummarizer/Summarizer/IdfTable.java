@@ -0,0 +1,181 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Corpus-wide inverse document frequencies, read from a sorted binary table that is
+ * memory-mapped rather than loaded, so JVMs on the same host share one copy through
+ * the page cache. The file is written by {@link IdfTableBuilder} and laid out as:
+ * <pre>
+ *   int    magic ("IDF1")
+ *   int    term count T
+ *   long   document count
+ *   int[]  T + 1 offsets into the term characters; term t is chars [offsets[t], offsets[t + 1])
+ *   float[] T IDF weights, log(N / (df + 1))
+ *   char[] term characters, UTF-16, terms in {@link String#compareTo} order
+ * </pre>
+ * Lookups binary-search the terms in place and do not allocate.
+ */
+public final class IdfTable {
+
+    public static final IdfTable EMPTY = new IdfTable(ByteBuffer.allocate(0), 0, 0);
+
+    private static final int MAGIC = 0x49444631;
+    private static final int HEADER_BYTES = 16;
+
+    private final ByteBuffer buffer;
+    private final int termCount;
+    private final long documentCount;
+    private final int weightsStart;
+    private final int charsStart;
+
+    private IdfTable(ByteBuffer buffer, int termCount, long documentCount) {
+        this.buffer = buffer;
+        this.termCount = termCount;
+        this.documentCount = documentCount;
+        this.weightsStart = HEADER_BYTES + (termCount + 1) * Integer.BYTES;
+        this.charsStart = weightsStart + termCount * Float.BYTES;
+    }
+
+    /**
+     * Maps the table file read-only.
+     *
+     * @param file The table written by {@link #write}.
+     * @return The table.
+     * @throws IOException If the file cannot be read or is not an IDF table.
+     */
+    public static IdfTable open(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not an IDF table: " + file);
+        }
+        IdfTable table = new IdfTable(buffer, buffer.getInt(4), buffer.getLong(8));
+        if (table.termCount < 0 || table.charsStart > buffer.capacity()
+                || table.charsStart + 2L * table.offset(table.termCount) != buffer.capacity()) {
+            throw new IOException("Truncated IDF table: " + file);
+        }
+        return table;
+    }
+
+    /**
+     * Writes a table for the given document frequencies. The file is written next to
+     * its destination and moved into place, so processes that still map the old file
+     * keep reading it unchanged.
+     *
+     * @param file                The destination.
+     * @param documentFrequencies The number of documents containing each term.
+     * @param documentCount       The number of documents in the corpus.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(Path file, Map<String, Integer> documentFrequencies, long documentCount)
+            throws IOException {
+        String[] terms = documentFrequencies.keySet().toArray(String[]::new);
+        Arrays.sort(terms);
+        long chars = 0;
+        for (String term : terms) {
+            chars += term.length();
+        }
+        long size = HEADER_BYTES + (terms.length + 1L) * Integer.BYTES + (long) terms.length * Float.BYTES + 2 * chars;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("IDF table of " + size + " bytes exceeds the 2 GB mapping limit");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(terms.length).putLong(documentCount);
+        int offset = 0;
+        buffer.putInt(offset);
+        for (String term : terms) {
+            offset += term.length();
+            buffer.putInt(offset);
+        }
+        for (String term : terms) {
+            buffer.putFloat((float) Math.log((double) documentCount / (documentFrequencies.get(term) + 1)));
+        }
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                buffer.putChar(term.charAt(i));
+            }
+        }
+        buffer.flip();
+
+        Path directory = file.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Returns the corpus IDF of the term.
+     *
+     * @param term The lowercased term.
+     * @return The IDF, or {@code NaN} if the corpus does not contain the term.
+     */
+    public float idf(CharSequence term) {
+        int low = 0;
+        int high = termCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareTerm(mid, term);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return buffer.getFloat(weightsStart + mid * Float.BYTES);
+            }
+        }
+        return Float.NaN;
+    }
+
+    public int termCount() {
+        return termCount;
+    }
+
+    public long documentCount() {
+        return documentCount;
+    }
+
+    public boolean isEmpty() {
+        return termCount == 0;
+    }
+
+    // Compares stored term t with the given term in String#compareTo order
+    private int compareTerm(int t, CharSequence term) {
+        int start = offset(t);
+        int length = offset(t + 1) - start;
+        int common = Math.min(length, term.length());
+        for (int i = 0; i < common; i++) {
+            char stored = buffer.getChar(charsStart + 2 * (start + i));
+            char given = term.charAt(i);
+            if (stored != given) {
+                return stored - given;
+            }
+        }
+        return length - term.length();
+    }
+
+    private int offset(int t) {
+        return buffer.getInt(HEADER_BYTES + t * Integer.BYTES);
+    }
+}
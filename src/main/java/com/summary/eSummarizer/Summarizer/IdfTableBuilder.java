@@ -0,0 +1,132 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.Preprocessor;
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import com.summary.eSummarizer.Service.LemmatizationService;
+import com.summary.eSummarizer.Service.LexiconService;
+import com.summary.eSummarizer.Service.OpenNLPModels;
+import com.summary.eSummarizer.Service.POSService;
+import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Offline builder for the corpus {@link IdfTable}. Every {@code .txt} file under the
+ * corpus directory is preprocessed exactly as requests are, and each sentence counts
+ * as one document, matching the per-sentence IDF a request computes for itself.
+ * <p>
+ * Run with {@code mvn compile exec:java -Dexec.mainClass=com.summary.eSummarizer.Summarizer.IdfTableBuilder
+ * -Dexec.args="<corpus directory> <table file>"}, then point {@code summarizer.idf.table-file} at the table.
+ */
+public final class IdfTableBuilder {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdfTableBuilder.class);
+
+    private final Preprocessor preprocessor;
+    private final ConcurrentHashMap<String, Integer> documentFrequencies = new ConcurrentHashMap<>();
+    private final AtomicLong documentCount = new AtomicLong();
+
+    public IdfTableBuilder(Preprocessor preprocessor) {
+        this.preprocessor = preprocessor;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: IdfTableBuilder <corpus directory> <table file>");
+            System.exit(2);
+        }
+        // Same wiring and defaults as the application context
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpenNLPModels models = new OpenNLPModels(meterRegistry);
+        POSService posService = new POSService(models, 0);
+        LemmatizationService lemmatizationService =
+                new LemmatizationService(posService, models, meterRegistry, 0, 100_000);
+        LexiconService lexiconService = new LexiconService(new CSVLoaderService(), "", Duration.ZERO);
+        Preprocessor preprocessor = new Preprocessor(lexiconService, lemmatizationService, posService, models,
+                new PipelineMetrics(meterRegistry), 0);
+
+        IdfTableBuilder builder = new IdfTableBuilder(preprocessor);
+        builder.addCorpus(Path.of(args[0]));
+        builder.write(Path.of(args[1]));
+    }
+
+    /**
+     * Counts the terms of every {@code .txt} file under the directory, several files at a time.
+     *
+     * @param directory The corpus directory.
+     * @throws IOException If the directory cannot be listed or a file cannot be read.
+     */
+    public void addCorpus(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(directory)) {
+            files = paths.filter(Files::isRegularFile)
+                    .filter(path -> path.getFileName().toString().endsWith(".txt"))
+                    .toList();
+        }
+        logger.info("Counting terms in {} corpus files under {}", files.size(), directory);
+        try {
+            files.parallelStream().forEach(file -> {
+                try {
+                    addDocument(Files.readString(file, StandardCharsets.UTF_8));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Counts the distinct terms of each sentence of the text.
+     *
+     * @param text The text.
+     */
+    public void addDocument(String text) {
+        List<String> sentences = preprocessor.tokenizeSentences(text);
+        TokenStream tokens = TokenStream.of(preprocessor.annotateSentences(sentences));
+        int[] termIds = new int[16];
+        for (int s = 0; s < tokens.sentenceCount(); s++) {
+            int count = tokens.termCount(s);
+            if (count > termIds.length) {
+                termIds = new int[Math.max(count, termIds.length * 2)];
+            }
+            for (int k = 0; k < count; k++) {
+                termIds[k] = tokens.termId(tokens.termStart(s) + k);
+            }
+            Arrays.sort(termIds, 0, count);
+            for (int k = 0; k < count; k++) {
+                if (k == 0 || termIds[k] != termIds[k - 1]) {
+                    documentFrequencies.merge(tokens.getVocabulary().term(termIds[k]), 1, Integer::sum);
+                }
+            }
+        }
+        documentCount.addAndGet(tokens.sentenceCount());
+    }
+
+    /**
+     * Writes the table for everything counted so far.
+     *
+     * @param file The table file.
+     * @throws IOException If the file cannot be written.
+     */
+    public void write(Path file) throws IOException {
+        IdfTable.write(file, documentFrequencies, documentCount.get());
+        logger.info("Wrote IDF table of {} terms over {} sentences to {}",
+                documentFrequencies.size(), documentCount.get(), file);
+    }
+}
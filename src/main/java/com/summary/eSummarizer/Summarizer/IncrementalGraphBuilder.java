@@ -0,0 +1,105 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Updates the similarity graph of an edited document from the graph of its previous version.
+ * <p>
+ * A pair of unchanged sentences keeps the edge it had before: with the IDF of every term and
+ * the similarity threshold pinned for the editing session, their vectors and their similarity
+ * are the same as in the previous version. Only the rows of changed sentences are scored, by
+ * walking the postings of their terms, so the cost grows with the number of changed sentences
+ * times the sentences sharing their terms, plus one pass over the previous edges, instead of
+ * with the square of the sentence count.
+ */
+final class IncrementalGraphBuilder {
+
+    private IncrementalGraphBuilder() {
+    }
+
+    /**
+     * Builds the graph of the current version.
+     *
+     * @param previous      The graph of the previous version.
+     * @param previousNodes The previous node of every unchanged sentence, or -1 for a changed one.
+     * @param index         The inverted index of the current version, weighted with the pinned IDF.
+     * @param threshold     The pinned similarity threshold.
+     * @return The similarity graph of the current version.
+     */
+    static SentenceGraph update(SentenceGraph previous, int[] previousNodes, InvertedIndex index, double threshold) {
+        int n = previousNodes.length;
+        int[] currentNodes = new int[previous.size()];
+        Arrays.fill(currentNodes, -1);
+        for (int i = 0; i < n; i++) {
+            if (previousNodes[i] >= 0) {
+                currentNodes[previousNodes[i]] = i;
+            }
+        }
+
+        // Unchanged sentences keep their edges to the other unchanged sentences
+        int[][] rows = new int[n][];
+        int[] lengths = new int[n];
+        for (int i = 0; i < n; i++) {
+            int node = previousNodes[i];
+            if (node < 0) {
+                rows[i] = new int[8];
+                continue;
+            }
+            rows[i] = new int[previous.degree(node) + 4];
+            for (int k = previous.neighborStart(node); k < previous.neighborEnd(node); k++) {
+                int j = currentNodes[previous.neighborAt(k)];
+                if (j >= 0) {
+                    rows[i][lengths[i]++] = j;
+                }
+            }
+        }
+
+        // Changed sentences are scored against every sentence sharing a term with them
+        List<SparseVector> vectors = index.getVectors();
+        double[] dotProducts = new double[n];
+        int[] touched = new int[n];
+        // touchedInRow[j] == i + 1 marks j as already listed for row i, since partial sums can cancel to 0
+        int[] touchedInRow = new int[n];
+        for (int i = 0; i < n; i++) {
+            SparseVector vector1 = vectors.get(i);
+            if (previousNodes[i] >= 0 || vector1.norm() == 0) {
+                continue;
+            }
+            int touchedCount = 0;
+            for (int t = 0; t < vector1.size(); t++) {
+                int termId = vector1.termId(t);
+                double weight = vector1.weight(t);
+                for (int p = index.postingStart(termId); p < index.postingEnd(termId); p++) {
+                    int j = index.postingSentence(p);
+                    // A pair of changed sentences is scored once, from its smaller id
+                    if (j == i || (j < i && previousNodes[j] < 0)) {
+                        continue;
+                    }
+                    if (touchedInRow[j] != i + 1) {
+                        touchedInRow[j] = i + 1;
+                        touched[touchedCount++] = j;
+                    }
+                    dotProducts[j] += weight * index.postingWeight(p);
+                }
+            }
+            for (int k = 0; k < touchedCount; k++) {
+                int j = touched[k];
+                float similarity = (float) (dotProducts[j] / (vector1.norm() * vectors.get(j).norm()));
+                dotProducts[j] = 0.0;
+                if (similarity > threshold) {
+                    append(rows, lengths, i, j);
+                    append(rows, lengths, j, i);
+                }
+            }
+        }
+        return SentenceGraph.fromRows(rows, lengths);
+    }
+
+    private static void append(int[][] rows, int[] lengths, int row, int neighbor) {
+        if (lengths[row] == rows[row].length) {
+            rows[row] = Arrays.copyOf(rows[row], rows[row].length * 2);
+        }
+        rows[row][lengths[row]++] = neighbor;
+    }
+}
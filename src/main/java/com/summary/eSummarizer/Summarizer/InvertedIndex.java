@@ -0,0 +1,202 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import com.summary.eSummarizer.Preprocessor.Vocabulary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-document inverted index from term id to the sentences containing it.
+ * Postings are stored in compressed form: the postings of term t are
+ * {@code [offsets[t], offsets[t + 1])} in the parallel sentence/weight arrays,
+ * sorted by sentence id. Document frequency is the postings length, and the
+ * TF-IDF weight of every posting is stored alongside it.
+ */
+public final class InvertedIndex {
+    private final Vocabulary vocabulary;
+    private final int[] offsets;
+    private final int[] postingSentences;
+    private final float[] postingWeights;
+    private final double[] idf;
+    private final List<SparseVector> vectors;
+
+    private InvertedIndex(Vocabulary vocabulary, int[] offsets, int[] postingSentences,
+                          float[] postingWeights, double[] idf, List<SparseVector> vectors) {
+        this.vocabulary = vocabulary;
+        this.offsets = offsets;
+        this.postingSentences = postingSentences;
+        this.postingWeights = postingWeights;
+        this.idf = idf;
+        this.vectors = vectors;
+    }
+
+    /**
+     * Indexes the term ids of each sentence in a single pass over the token stream
+     * and weights every posting by {@code tf * idf}. The IDF of a term comes from the
+     * corpus table when the table has it, and from the document's own sentences,
+     * {@code log(n / (df + 1))}, otherwise. With a table, the in-document IDF is
+     * rescaled by {@code log(N_corpus) / log(n)}, mapping the document's range onto the
+     * corpus one, so a rare term missing from the table still outweighs common corpus terms.
+     *
+     * @param tokens    The content terms of the sentences.
+     * @param corpusIdf The corpus IDF table, possibly empty.
+     * @return The inverted index with the TF-IDF vector of every sentence.
+     */
+    public static InvertedIndex build(TokenStream tokens, IdfTable corpusIdf) {
+        return build(tokens, corpusIdf, Map.of());
+    }
+
+    /**
+     * Indexes the sentences like {@link #build(TokenStream, IdfTable)}, except that a term
+     * with a pinned IDF keeps that value. An editing session pins the IDF of every term
+     * the first time it appears, so the vector of an unchanged sentence stays the same
+     * from one version of the document to the next.
+     *
+     * @param tokens    The content terms of the sentences.
+     * @param corpusIdf The corpus IDF table, possibly empty.
+     * @param pinnedIdf The IDF of terms already pinned by earlier versions, by term.
+     * @return The inverted index with the TF-IDF vector of every sentence.
+     */
+    public static InvertedIndex build(TokenStream tokens, IdfTable corpusIdf, Map<String, Double> pinnedIdf) {
+        int n = tokens.sentenceCount();
+        Vocabulary vocabulary = tokens.getVocabulary();
+        // Per sentence: distinct term ids (sorted) and their term frequencies
+        int[][] sentenceTerms = new int[n][];
+        int[][] sentenceFrequencies = new int[n][];
+        int[] documentFrequencies = new int[vocabulary.size()];
+        int[] termIds = new int[16];
+        for (int i = 0; i < n; i++) {
+            int count = tokens.termCount(i);
+            if (count > termIds.length) {
+                termIds = new int[Math.max(count, termIds.length * 2)];
+            }
+            for (int k = 0; k < count; k++) {
+                termIds[k] = tokens.termId(tokens.termStart(i) + k);
+            }
+            Arrays.sort(termIds, 0, count);
+
+            int[] distinct = new int[count];
+            int[] frequencies = new int[count];
+            int distinctCount = 0;
+            for (int start = 0; start < count; ) {
+                int end = start;
+                while (end < count && termIds[end] == termIds[start]) {
+                    end++;
+                }
+                distinct[distinctCount] = termIds[start];
+                frequencies[distinctCount] = end - start;
+                distinctCount++;
+                start = end;
+            }
+            for (int k = 0; k < distinctCount; k++) {
+                documentFrequencies[distinct[k]]++;
+            }
+            sentenceTerms[i] = Arrays.copyOf(distinct, distinctCount);
+            sentenceFrequencies[i] = Arrays.copyOf(frequencies, distinctCount);
+        }
+
+        int termCount = vocabulary.size();
+        double[] idf = new double[termCount];
+        int[] offsets = new int[termCount + 1];
+        // Maps in-document IDF, at most log(n), onto the corpus range, at most log(N_corpus)
+        double documentScale = !corpusIdf.isEmpty() && n > 1
+                ? Math.log((double) corpusIdf.documentCount()) / Math.log(n)
+                : 1.0;
+        for (int t = 0; t < termCount; t++) {
+            Double pinned = pinnedIdf.get(vocabulary.term(t));
+            if (pinned != null) {
+                idf[t] = pinned;
+            } else {
+                float corpusWeight = corpusIdf.isEmpty() ? Float.NaN : corpusIdf.idf(vocabulary.term(t));
+                idf[t] = Float.isNaN(corpusWeight)
+                        ? documentScale * Math.log((double) n / (documentFrequencies[t] + 1))
+                        : corpusWeight;
+            }
+            // A term with zero IDF contributes nothing to any vector, so it gets no postings
+            offsets[t + 1] = offsets[t] + (idf[t] == 0.0 ? 0 : documentFrequencies[t]);
+        }
+
+        int[] postingSentences = new int[offsets[termCount]];
+        float[] postingWeights = new float[offsets[termCount]];
+        int[] positions = Arrays.copyOf(offsets, termCount);
+        List<SparseVector> vectors = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int[] terms = sentenceTerms[i];
+            int[] frequencies = sentenceFrequencies[i];
+            int[] ids = new int[terms.length];
+            float[] weights = new float[terms.length];
+            int count = 0;
+            for (int k = 0; k < terms.length; k++) {
+                float weight = (float) (frequencies[k] * idf[terms[k]]);
+                if (weight != 0.0f) {
+                    int position = positions[terms[k]]++;
+                    postingSentences[position] = i;
+                    postingWeights[position] = weight;
+                    ids[count] = terms[k];
+                    weights[count] = weight;
+                    count++;
+                }
+            }
+            vectors.add(new SparseVector(Arrays.copyOf(ids, count), Arrays.copyOf(weights, count)));
+        }
+        return new InvertedIndex(vocabulary, offsets, postingSentences, postingWeights, idf,
+                Collections.unmodifiableList(vectors));
+    }
+
+    public Vocabulary getVocabulary() {
+        return vocabulary;
+    }
+
+    /**
+     * Returns the TF-IDF vector of every sentence, indexed by sentence id.
+     */
+    public List<SparseVector> getVectors() {
+        return vectors;
+    }
+
+    public int sentenceCount() {
+        return vectors.size();
+    }
+
+    /**
+     * Returns the number of sentences containing the term, or 0 if its IDF is zero.
+     */
+    public int documentFrequency(int termId) {
+        return offsets[termId + 1] - offsets[termId];
+    }
+
+    /**
+     * Returns the IDF the term was weighted with.
+     */
+    public double idf(int termId) {
+        return idf[termId];
+    }
+
+    public int postingStart(int termId) {
+        return offsets[termId];
+    }
+
+    public int postingEnd(int termId) {
+        return offsets[termId + 1];
+    }
+
+    public int postingSentence(int position) {
+        return postingSentences[position];
+    }
+
+    public float postingWeight(int position) {
+        return postingWeights[position];
+    }
+
+    /**
+     * Returns the first posting position of the term whose sentence id is greater than the given one.
+     */
+    public int postingsAfter(int termId, int sentenceId) {
+        int position = Arrays.binarySearch(postingSentences, offsets[termId], offsets[termId + 1], sentenceId + 1);
+        return position >= 0 ? position : -position - 1;
+    }
+}
@@ -0,0 +1,229 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Approximate similarity graph builder for very large documents.
+ * <p>
+ * Each sentence's term set is reduced to a MinHash signature which is split into
+ * bands; sentences that agree on all rows of at least one band become candidate
+ * pairs. Only candidates are scored with the exact cosine similarity, so the cost
+ * grows with the number of candidates instead of with the square of the sentence
+ * count. The threshold is the same percentile as in exact mode, estimated from a
+ * random sample of pairs, and the recall against the exact graph is estimated
+ * from a sample of sentences.
+ */
+public class MinHashGraphBuilder {
+    private static final int THRESHOLD_SAMPLE_PAIRS = 20_000;
+    // Members of a larger bucket are only paired with their nearest bucket neighbors
+    private static final int MAX_BUCKET_PAIRS_WINDOW = 64;
+
+    private final int bands;
+    private final int rows;
+    private final int recallSampleSize;
+    private final long seed;
+
+    public MinHashGraphBuilder(int bands, int rows, int recallSampleSize, long seed) {
+        if (bands < 1 || rows < 1) {
+            throw new IllegalArgumentException("bands and rows must be positive");
+        }
+        this.bands = bands;
+        this.rows = rows;
+        this.recallSampleSize = recallSampleSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Builds the approximate similarity graph.
+     *
+     * @param vectors    The TF-IDF vectors of the sentences.
+     * @param percentile The similarity percentile used as the edge threshold.
+     * @return The approximate graph with its threshold and estimated recall.
+     */
+    public Result build(List<SparseVector> vectors, double percentile) {
+        int n = vectors.size();
+        double threshold = estimateThreshold(vectors, percentile);
+
+        int[][] signatures = new int[n][];
+        IntStream.range(0, n).parallel().forEach(i -> signatures[i] = signature(vectors.get(i)));
+
+        long[] candidates = new long[Math.max(16, n * 4)];
+        int candidateCount = 0;
+        long[] bucketKeys = new long[n];
+        for (int band = 0; band < bands; band++) {
+            int keyCount = 0;
+            for (int i = 0; i < n; i++) {
+                if (signatures[i] != null) {
+                    // Band hash in the high bits so that sorting groups each bucket together
+                    bucketKeys[keyCount++] = ((long) bandHash(signatures[i], band) << 32) | i;
+                }
+            }
+            Arrays.sort(bucketKeys, 0, keyCount);
+            for (int start = 0; start < keyCount; ) {
+                int end = start + 1;
+                while (end < keyCount && (bucketKeys[end] >>> 32) == (bucketKeys[start] >>> 32)) {
+                    end++;
+                }
+                for (int a = start; a < end; a++) {
+                    int limit = Math.min(end, a + 1 + MAX_BUCKET_PAIRS_WINDOW);
+                    for (int b = a + 1; b < limit; b++) {
+                        if (candidateCount == candidates.length) {
+                            candidates = Arrays.copyOf(candidates, candidates.length * 2);
+                        }
+                        candidates[candidateCount++] = pair((int) bucketKeys[a], (int) bucketKeys[b]);
+                    }
+                }
+                start = end;
+            }
+        }
+        candidateCount = sortUnique(candidates, candidateCount);
+
+        long[] edges = candidates;
+        boolean[] keep = new boolean[candidateCount];
+        IntStream.range(0, candidateCount).parallel().forEach(e -> {
+            int i = (int) (edges[e] >>> 32);
+            int j = (int) edges[e];
+            keep[e] = vectors.get(i).cosineSimilarity(vectors.get(j)) > threshold;
+        });
+        int edgeCount = 0;
+        for (int e = 0; e < candidateCount; e++) {
+            if (keep[e]) {
+                edges[edgeCount++] = edges[e];
+            }
+        }
+
+        SentenceGraph graph = SentenceGraph.fromEdges(n, edges, edgeCount);
+        return new Result(graph, threshold, candidateCount, estimateRecall(vectors, graph, threshold));
+    }
+
+    private double estimateThreshold(List<SparseVector> vectors, double percentile) {
+        int n = vectors.size();
+        if (n < 2) {
+            return 0.0;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        float[] sample = new float[THRESHOLD_SAMPLE_PAIRS];
+        for (int s = 0; s < sample.length; s++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n - 1);
+            if (j >= i) {
+                j++;
+            }
+            sample[s] = (float) vectors.get(i).cosineSimilarity(vectors.get(j));
+        }
+        return Selection.percentile(sample, percentile);
+    }
+
+    /**
+     * Compares the exact neighbors of a random sample of sentences against the graph.
+     */
+    private double estimateRecall(List<SparseVector> vectors, SentenceGraph graph, double threshold) {
+        int n = vectors.size();
+        if (recallSampleSize <= 0 || n < 2) {
+            return Double.NaN;
+        }
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        long exactEdges = 0;
+        long foundEdges = 0;
+        for (int s = 0; s < Math.min(recallSampleSize, n); s++) {
+            int i = random.nextInt(n);
+            SparseVector vector = vectors.get(i);
+            for (int j = 0; j < n; j++) {
+                if (j != i && vector.cosineSimilarity(vectors.get(j)) > threshold) {
+                    exactEdges++;
+                    if (graph.hasEdge(i, j)) {
+                        foundEdges++;
+                    }
+                }
+            }
+        }
+        return exactEdges == 0 ? 1.0 : (double) foundEdges / exactEdges;
+    }
+
+    /**
+     * Computes the MinHash signature of a sentence's term set, or null if it has no terms.
+     */
+    private int[] signature(SparseVector vector) {
+        if (vector.size() == 0) {
+            return null;
+        }
+        int[] signature = new int[bands * rows];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int t = 0; t < vector.size(); t++) {
+            long term = vector.termId(t);
+            for (int h = 0; h < signature.length; h++) {
+                int value = (int) (mix(term + (seed + h) * 0x9E3779B97F4A7C15L) >>> 33);
+                if (value < signature[h]) {
+                    signature[h] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    private int bandHash(int[] signature, int band) {
+        long hash = band;
+        for (int r = band * rows; r < (band + 1) * rows; r++) {
+            hash = mix(hash * 31 + signature[r]);
+        }
+        return (int) hash;
+    }
+
+    private static long pair(int a, int b) {
+        return a < b ? ((long) a << 32) | b : ((long) b << 32) | a;
+    }
+
+    private static int sortUnique(long[] values, int count) {
+        Arrays.sort(values, 0, count);
+        int unique = 0;
+        for (int k = 0; k < count; k++) {
+            if (unique == 0 || values[k] != values[unique - 1]) {
+                values[unique++] = values[k];
+            }
+        }
+        return unique;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public static final class Result {
+        private final SentenceGraph graph;
+        private final double threshold;
+        private final int candidatePairs;
+        private final double recall;
+
+        Result(SentenceGraph graph, double threshold, int candidatePairs, double recall) {
+            this.graph = graph;
+            this.threshold = threshold;
+            this.candidatePairs = candidatePairs;
+            this.recall = recall;
+        }
+
+        public SentenceGraph getGraph() {
+            return graph;
+        }
+
+        public double getThreshold() {
+            return threshold;
+        }
+
+        public int getCandidatePairs() {
+            return candidatePairs;
+        }
+
+        /**
+         * Returns the fraction of sampled exact edges present in the graph, or NaN if not sampled.
+         */
+        public double getRecall() {
+            return recall;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.summary.eSummarizer.Summarizer;
+
+/**
+ * Selection helpers shared by the graph builders.
+ */
+final class Selection {
+
+    private Selection() {
+    }
+
+    /**
+     * Returns the value at the given percentile, i.e. the element at index
+     * {@code (int) (length * percentile)} in sorted order. The array is reordered.
+     *
+     * @param values     The values; partially reordered by the call.
+     * @param percentile The percentile in [0, 1).
+     * @return The value at that percentile, or 0 if the array is empty.
+     */
+    static double percentile(float[] values, double percentile) {
+        if (values.length == 0) {
+            return 0.0;
+        }
+        int k = Math.min(values.length - 1, (int) (values.length * percentile));
+        return select(values, k);
+    }
+
+    /**
+     * Returns the k-th smallest element, partially reordering the array.
+     * Three-way partitioning keeps long runs of equal values (typically zeros) linear.
+     */
+    static float select(float[] a, int k) {
+        int low = 0;
+        int high = a.length - 1;
+        while (low < high) {
+            float pivot = medianOfThree(a[low], a[(low + high) >>> 1], a[high]);
+            int lt = low;
+            int gt = high;
+            int i = low;
+            while (i <= gt) {
+                float value = a[i];
+                if (value < pivot) {
+                    a[i++] = a[lt];
+                    a[lt++] = value;
+                } else if (value > pivot) {
+                    a[i] = a[gt];
+                    a[gt--] = value;
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                high = lt - 1;
+            } else if (k > gt) {
+                low = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
+        return a[low];
+    }
+
+    private static float medianOfThree(float a, float b, float c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+}
@@ -0,0 +1,225 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.IntStream;
+
+/**
+ * Undirected sentence similarity graph in compressed sparse row form.
+ * The neighbors of sentence i are {@code neighbors[offsets[i] .. offsets[i + 1])},
+ * in ascending order. The inverse out-degree of every node is precomputed for
+ * the PageRank step.
+ */
+public final class SentenceGraph {
+    private static final int PARALLEL_THRESHOLD = 2048;
+    private static final int ROW_BLOCK_SIZE = 512;
+
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final double[] inverseDegrees;
+
+    private SentenceGraph(int[] offsets, int[] neighbors) {
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        int n = offsets.length - 1;
+        this.inverseDegrees = new double[n];
+        for (int i = 0; i < n; i++) {
+            int degree = offsets[i + 1] - offsets[i];
+            inverseDegrees[i] = degree == 0 ? 0.0 : 1.0 / degree;
+        }
+    }
+
+    /**
+     * Connects every pair of sentences whose similarity is above the threshold.
+     * Rows are independent, so large matrices are scanned in parallel.
+     *
+     * @param similarities        The pairwise sentence similarities.
+     * @param similarityThreshold The threshold for considering sentences similar.
+     * @return The similarity graph.
+     */
+    public static SentenceGraph fromSimilarities(SimilarityMatrix similarities, double similarityThreshold) {
+        int n = similarities.size();
+        int[] offsets = new int[n + 1];
+        rows(n).forEach(i -> {
+            int degree = 0;
+            for (int j = 0; j < n; j++) {
+                if (j != i && similarities.get(i, j) > similarityThreshold) {
+                    degree++;
+                }
+            }
+            offsets[i + 1] = degree;
+        });
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        int[] neighbors = new int[offsets[n]];
+        rows(n).forEach(i -> {
+            int position = offsets[i];
+            for (int j = 0; j < n; j++) {
+                if (j != i && similarities.get(i, j) > similarityThreshold) {
+                    neighbors[position++] = j;
+                }
+            }
+        });
+        return new SentenceGraph(offsets, neighbors);
+    }
+
+    /**
+     * Builds a graph from a list of undirected edges.
+     *
+     * @param n     The number of sentences.
+     * @param edges Edges packed as {@code (long) i << 32 | j} with i &lt; j, sorted ascending without duplicates.
+     * @param count The number of valid entries in {@code edges}.
+     * @return The similarity graph.
+     */
+    public static SentenceGraph fromEdges(int n, long[] edges, int count) {
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < count; e++) {
+            offsets[(int) (edges[e] >>> 32) + 1]++;
+            offsets[(int) edges[e] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        // Edges are sorted by their smaller endpoint, so every row is filled in ascending order
+        int[] positions = Arrays.copyOf(offsets, n);
+        int[] neighbors = new int[offsets[n]];
+        for (int e = 0; e < count; e++) {
+            int i = (int) (edges[e] >>> 32);
+            int j = (int) edges[e];
+            neighbors[positions[i]++] = j;
+            neighbors[positions[j]++] = i;
+        }
+        return new SentenceGraph(offsets, neighbors);
+    }
+
+    /**
+     * Builds a graph from the neighbor list of every sentence, in any order.
+     *
+     * @param rows    The neighbors of every sentence; row i holds them in its first {@code lengths[i]} entries.
+     * @param lengths The number of neighbors of every sentence.
+     * @return The similarity graph.
+     */
+    public static SentenceGraph fromRows(int[][] rows, int[] lengths) {
+        int n = rows.length;
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + lengths[i];
+        }
+        int[] neighbors = new int[offsets[n]];
+        rows(n).forEach(i -> {
+            System.arraycopy(rows[i], 0, neighbors, offsets[i], lengths[i]);
+            Arrays.sort(neighbors, offsets[i], offsets[i + 1]);
+        });
+        return new SentenceGraph(offsets, neighbors);
+    }
+
+    private static IntStream rows(int n) {
+        IntStream rows = IntStream.range(0, n);
+        return n >= PARALLEL_THRESHOLD ? rows.parallel() : rows;
+    }
+
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    public int degree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    /**
+     * Returns the number of directed edges, i.e. twice the number of undirected edges.
+     */
+    public int edgeCount() {
+        return neighbors.length;
+    }
+
+    /**
+     * Returns whether two sentences are connected.
+     */
+    public boolean hasEdge(int i, int j) {
+        return Arrays.binarySearch(neighbors, offsets[i], offsets[i + 1], j) >= 0;
+    }
+
+    public int neighborStart(int node) {
+        return offsets[node];
+    }
+
+    public int neighborEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    public int neighborAt(int position) {
+        return neighbors[position];
+    }
+
+    /**
+     * Performs one PageRank step over all rows, splitting large graphs into
+     * row blocks on the common fork-join pool.
+     *
+     * @param current       The scores from the previous iteration.
+     * @param next          The array receiving the new scores.
+     * @param dampingFactor The damping factor.
+     * @return The largest absolute score change.
+     */
+    public double step(double[] current, double[] next, double dampingFactor) {
+        int n = size();
+        if (n < PARALLEL_THRESHOLD) {
+            return propagate(current, next, dampingFactor, 0, n);
+        }
+        return ForkJoinPool.commonPool().invoke(new PropagateTask(this, current, next, dampingFactor, 0, n));
+    }
+
+    /**
+     * Performs one PageRank step for a block of rows:
+     * {@code next[i] = (1 - d) + d * sum(current[j] / degree(j))} over the neighbors j of i.
+     *
+     * @return The largest absolute score change within the block.
+     */
+    private double propagate(double[] current, double[] next, double dampingFactor, int rowStart, int rowEnd) {
+        double maxDiff = 0.0;
+        for (int i = rowStart; i < rowEnd; i++) {
+            double score = (1 - dampingFactor);
+            for (int k = offsets[i]; k < offsets[i + 1]; k++) {
+                int neighbor = neighbors[k];
+                score += dampingFactor * (current[neighbor] * inverseDegrees[neighbor]);
+            }
+            next[i] = score;
+            maxDiff = Math.max(maxDiff, Math.abs(score - current[i]));
+        }
+        return maxDiff;
+    }
+
+    private static final class PropagateTask extends RecursiveTask<Double> {
+        private final SentenceGraph graph;
+        private final double[] current;
+        private final double[] next;
+        private final double dampingFactor;
+        private final int rowStart;
+        private final int rowEnd;
+
+        PropagateTask(SentenceGraph graph, double[] current, double[] next, double dampingFactor,
+                      int rowStart, int rowEnd) {
+            this.graph = graph;
+            this.current = current;
+            this.next = next;
+            this.dampingFactor = dampingFactor;
+            this.rowStart = rowStart;
+            this.rowEnd = rowEnd;
+        }
+
+        @Override
+        protected Double compute() {
+            if (rowEnd - rowStart <= ROW_BLOCK_SIZE) {
+                return graph.propagate(current, next, dampingFactor, rowStart, rowEnd);
+            }
+            int middle = (rowStart + rowEnd) >>> 1;
+            PropagateTask left = new PropagateTask(graph, current, next, dampingFactor, rowStart, middle);
+            PropagateTask right = new PropagateTask(graph, current, next, dampingFactor, middle, rowEnd);
+            left.fork();
+            double rightDiff = right.compute();
+            return Math.max(left.join(), rightDiff);
+        }
+    }
+}
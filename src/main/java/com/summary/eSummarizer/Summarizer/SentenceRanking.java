@@ -0,0 +1,71 @@
+package com.summary.eSummarizer.Summarizer;
+
+/**
+ * Normalized sentence scores together with the graph they were ranked on.
+ * Graph node k corresponds to document sentence {@code sentenceIds[k]}; in exact
+ * mode this is the identity, while in chunked mode the graph only covers the
+ * sentences that survived the window pass.
+ */
+final class SentenceRanking {
+    private final double[] scores;
+    private final SentenceGraph graph;
+    private final int[] sentenceIds;
+    private final double[] pageRankScores;
+    // Set only for an exact ranking of the whole document, which a later edit can update
+    private final InvertedIndex index;
+    private final double similarityThreshold;
+
+    SentenceRanking(double[] scores, SentenceGraph graph, int[] sentenceIds, double[] pageRankScores) {
+        this(scores, graph, sentenceIds, pageRankScores, null, Double.NaN);
+    }
+
+    SentenceRanking(double[] scores, SentenceGraph graph, int[] sentenceIds, double[] pageRankScores,
+                    InvertedIndex index, double similarityThreshold) {
+        this.scores = scores;
+        this.graph = graph;
+        this.sentenceIds = sentenceIds;
+        this.pageRankScores = pageRankScores;
+        this.index = index;
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Returns the score of every document sentence, indexed by sentence id.
+     */
+    double[] getScores() {
+        return scores;
+    }
+
+    /**
+     * Returns the converged PageRank score of every graph node, before the position and
+     * length biases and normalization; a later ranking of an edited document can start from them.
+     */
+    double[] getPageRankScores() {
+        return pageRankScores;
+    }
+
+    /**
+     * Returns the inverted index the graph was built from, or null if the graph is approximate or chunked.
+     */
+    InvertedIndex getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the similarity threshold of the graph's edges, or NaN if the graph is approximate or chunked.
+     */
+    double getSimilarityThreshold() {
+        return similarityThreshold;
+    }
+
+    SentenceGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Returns the document sentence id of a graph node.
+     */
+    int sentenceId(int node) {
+        return sentenceIds == null ? node : sentenceIds[node];
+    }
+}
@@ -0,0 +1,136 @@
+package com.summary.eSummarizer.Summarizer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Pairwise sentence similarities stored as a packed upper-triangular float matrix.
+ * Only pairs (i, j) with i &lt; j are kept, so n sentences take n(n-1)/2 floats.
+ * The matrix is filled once, in blocks of rows processed in parallel on the
+ * common fork-join pool, and then shared by the threshold and graph steps.
+ */
+public final class SimilarityMatrix {
+    private static final int ROW_BLOCK_SIZE = 64;
+
+    private final int size;
+    private final float[] values;
+
+    private SimilarityMatrix(int size) {
+        long cells = (long) size * (size - 1) / 2;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many sentences for an exact similarity matrix: " + size);
+        }
+        this.size = size;
+        this.values = new float[(int) cells];
+    }
+
+    /**
+     * Computes the cosine similarity of every sentence pair. Dot products are
+     * accumulated row by row by walking the postings of each term in the row's
+     * sentence, so pairs that share no terms are never touched and stay 0.
+     *
+     * @param index The inverted index holding the TF-IDF postings of the document.
+     * @return The filled similarity matrix.
+     */
+    public static SimilarityMatrix compute(InvertedIndex index) {
+        SimilarityMatrix matrix = new SimilarityMatrix(index.sentenceCount());
+        int blocks = (matrix.size + ROW_BLOCK_SIZE - 1) / ROW_BLOCK_SIZE;
+        if (blocks <= 1) {
+            matrix.fillRows(index, 0);
+            return matrix;
+        }
+        List<RowBlockTask> tasks = new ArrayList<>(blocks);
+        for (int block = 0; block < blocks; block++) {
+            tasks.add(new RowBlockTask(matrix, index, block * ROW_BLOCK_SIZE));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        return matrix;
+    }
+
+    private void fillRows(InvertedIndex index, int rowStart) {
+        int rowEnd = Math.min(rowStart + ROW_BLOCK_SIZE, size);
+        List<SparseVector> vectors = index.getVectors();
+        double[] dotProducts = new double[size];
+        int[] touched = new int[size];
+        // touchedInRow[j] == i + 1 marks j as already listed for row i, since partial sums can cancel to 0
+        int[] touchedInRow = new int[size];
+        for (int i = rowStart; i < rowEnd; i++) {
+            SparseVector vector1 = vectors.get(i);
+            if (vector1.norm() == 0) {
+                continue;
+            }
+            int touchedCount = 0;
+            for (int t = 0; t < vector1.size(); t++) {
+                int termId = vector1.termId(t);
+                double weight = vector1.weight(t);
+                for (int p = index.postingsAfter(termId, i); p < index.postingEnd(termId); p++) {
+                    int j = index.postingSentence(p);
+                    if (touchedInRow[j] != i + 1) {
+                        touchedInRow[j] = i + 1;
+                        touched[touchedCount++] = j;
+                    }
+                    dotProducts[j] += weight * index.postingWeight(p);
+                }
+            }
+            int rowOffset = rowOffset(i);
+            for (int k = 0; k < touchedCount; k++) {
+                int j = touched[k];
+                values[rowOffset + j] = (float) (dotProducts[j] / (vector1.norm() * vectors.get(j).norm()));
+                dotProducts[j] = 0.0;
+            }
+        }
+    }
+
+    /**
+     * Offset such that {@code rowOffset(i) + j} is the packed index of pair (i, j), i &lt; j.
+     */
+    private int rowOffset(int i) {
+        return (int) ((long) i * (2L * size - i - 1) / 2 - i - 1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the similarity of two distinct sentences.
+     *
+     * @param i The first sentence index.
+     * @param j The second sentence index.
+     * @return The similarity of the pair.
+     */
+    public float get(int i, int j) {
+        return i < j ? values[rowOffset(i) + j] : values[rowOffset(j) + i];
+    }
+
+    /**
+     * Returns the value at the given percentile of all pairwise similarities,
+     * i.e. the element at index {@code (int) (pairs * percentile)} in sorted order.
+     * Uses quickselect on a copy of the buffer instead of a full sort.
+     *
+     * @param percentile The percentile in [0, 1).
+     * @return The similarity at that percentile, or 0 if there are no pairs.
+     */
+    public double percentile(double percentile) {
+        return Selection.percentile(values.clone(), percentile);
+    }
+
+    private static final class RowBlockTask extends RecursiveAction {
+        private final SimilarityMatrix matrix;
+        private final InvertedIndex index;
+        private final int rowStart;
+
+        RowBlockTask(SimilarityMatrix matrix, InvertedIndex index, int rowStart) {
+            this.matrix = matrix;
+            this.index = index;
+            this.rowStart = rowStart;
+        }
+
+        @Override
+        protected void compute() {
+            matrix.fillRows(index, rowStart);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.summary.eSummarizer.Summarizer;
+
+/**
+ * Immutable sparse term-weight vector. Term ids are sorted ascending and only
+ * non-zero weights are stored; the Euclidean norm is computed once up front.
+ */
+public final class SparseVector {
+    public static final SparseVector EMPTY = new SparseVector(new int[0], new float[0]);
+
+    private final int[] termIds;
+    private final float[] weights;
+    private final double norm;
+
+    /**
+     * Creates a vector from parallel arrays. The arrays are taken as-is and
+     * must already be sorted by term id with no duplicates.
+     *
+     * @param termIds The sorted term ids.
+     * @param weights The weight of each term.
+     */
+    public SparseVector(int[] termIds, float[] weights) {
+        if (termIds.length != weights.length) {
+            throw new IllegalArgumentException("termIds and weights must have the same length");
+        }
+        this.termIds = termIds;
+        this.weights = weights;
+        double sumOfSquares = 0.0;
+        for (float weight : weights) {
+            sumOfSquares += (double) weight * weight;
+        }
+        this.norm = Math.sqrt(sumOfSquares);
+    }
+
+    public int size() {
+        return termIds.length;
+    }
+
+    public int termId(int index) {
+        return termIds[index];
+    }
+
+    public float weight(int index) {
+        return weights[index];
+    }
+
+    public double norm() {
+        return norm;
+    }
+
+    /**
+     * Calculates the dot product with another vector by merging the sorted term ids.
+     *
+     * @param other The other vector.
+     * @return The dot product.
+     */
+    public double dot(SparseVector other) {
+        int[] ids1 = termIds;
+        int[] ids2 = other.termIds;
+        int i = 0;
+        int j = 0;
+        double dotProduct = 0.0;
+        while (i < ids1.length && j < ids2.length) {
+            int a = ids1[i];
+            int b = ids2[j];
+            if (a == b) {
+                dotProduct += (double) weights[i++] * other.weights[j++];
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return dotProduct;
+    }
+
+    /**
+     * Calculates the cosine similarity with another vector.
+     *
+     * @param other The other vector.
+     * @return The cosine similarity, or 0 if either vector has zero magnitude.
+     */
+    public double cosineSimilarity(SparseVector other) {
+        if (norm == 0 || other.norm == 0) {
+            return 0.0;
+        }
+        return dot(other) / (norm * other.norm);
+    }
+}
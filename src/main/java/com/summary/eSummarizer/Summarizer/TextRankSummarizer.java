@@ -1,79 +1,171 @@
 package com.summary.eSummarizer.Summarizer;
 
-import com.summary.eSummarizer.DTO.GraphLink;
-import com.summary.eSummarizer.DTO.GraphNode;
+import com.summary.eSummarizer.DTO.CompactGraph;
+import com.summary.eSummarizer.DTO.PipelineTrace;
 import com.summary.eSummarizer.DTO.SentenceRank;
 import com.summary.eSummarizer.DTO.SummaryInfo;
+import com.summary.eSummarizer.Preprocessor.AnnotatedSentence;
 import com.summary.eSummarizer.Preprocessor.Preprocessor;
-import com.summary.eSummarizer.Service.POSService;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.summary.eSummarizer.Preprocessor.ProcessedDocument;
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import com.summary.eSummarizer.Utils.WordCounter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.stream.IntStream;
 
 @Service
 public class TextRankSummarizer {
     private static final Logger logger = LoggerFactory.getLogger(TextRankSummarizer.class);
 
-    @Autowired
-    private Preprocessor preprocessor;
+    private final Preprocessor preprocessor;
 
-    @Autowired
-    private POSService posService;
+    private final PipelineMetrics metrics;
+
+    private final IdfTable idfTable;
 
     private static final double DAMPING_FACTOR = 0.85;
     private static final int MAX_ITERATIONS = 100;
     private static final double MIN_DIFF = 0.001;
+    private static final double SIMILARITY_PERCENTILE = 0.50; // 50th percentile
+    private static final double SUMMARY_RATIO = 0.6;
+
+    @Value("${summarizer.approximate.enabled:false}")
+    private boolean approximateEnabled;
+
+    @Value("${summarizer.approximate.sentence-threshold:5000}")
+    private int approximateSentenceThreshold;
+
+    @Value("${summarizer.approximate.bands:32}")
+    private int approximateBands;
+
+    @Value("${summarizer.approximate.rows:2}")
+    private int approximateRows;
+
+    @Value("${summarizer.approximate.recall-sample-size:100}")
+    private int approximateRecallSampleSize;
+
+    @Value("${summarizer.chunked.enabled:false}")
+    private boolean chunkedEnabled;
+
+    @Value("${summarizer.chunked.sentence-threshold:2000}")
+    private int chunkedSentenceThreshold;
+
+    @Value("${summarizer.chunked.window-size:500}")
+    private int chunkWindowSize;
+
+    @Value("${summarizer.chunked.overlap:50}")
+    private int chunkOverlap;
+
+    @Value("${summarizer.chunked.measure-quality:false}")
+    private boolean chunkedMeasureQuality;
+
+    public TextRankSummarizer(Preprocessor preprocessor, PipelineMetrics metrics, IdfTable idfTable) {
+        this.preprocessor = preprocessor;
+        this.metrics = metrics;
+        this.idfTable = idfTable;
+    }
 
     /**
      * Summarizes the given text using the TextRank algorithm.
      *
-     * @param text The input text to be summarized.
+     * @param text         The input text to be summarized.
+     * @param includeGraph Whether to attach the sentence graph; it is left out otherwise.
      * @return SummaryInfo containing the summarized text and related metrics.
      */
-    public SummaryInfo summarize(String text) {
-        logger.info("Starting summarization process for text of length: {}", text.length());
-
-        // Tokenize and preprocess the text
-        List<String> originalSentences = preprocessor.tokenizeSentences(text);
-        logger.info("Tokenized {} sentences", originalSentences.size());
+    public SummaryInfo summarize(String text, boolean includeGraph) {
+        return summarize(text, includeGraph, null).getSummary();
+    }
 
-        List<String> processedSentences = preprocessor.removeStopwordsAndLemmatize(originalSentences);
+    /**
+     * Summarizes a new version of a document. Sentences whose text also appears in the
+     * previous version keep their annotations, so only new and edited sentences go
+     * through tokenization, tagging and lemmatization, and PageRank starts from the
+     * previous scores so it converges in fewer iterations. After an exact ranking the
+     * similarity graph is updated rather than rebuilt: the IDF of every term and the
+     * similarity threshold stay pinned to the values the session started with, and only
+     * the edges of changed sentences are recomputed. The scores therefore match a cold
+     * start of the same text only up to the PageRank tolerance, and only while the pinned
+     * IDF and threshold agree with what that text would yield on its own; an edit that
+     * changes most sentences is ranked from scratch, which re-pins them.
+     *
+     * @param text         The input text to be summarized.
+     * @param includeGraph Whether to attach the sentence graph; it is left out otherwise.
+     * @param previous     The snapshot of the previous version, or null to start afresh.
+     * @return The snapshot of this version, holding its summary.
+     */
+    public DocumentSnapshot summarize(String text, boolean includeGraph, DocumentSnapshot previous) {
+        String parametersKey = getParametersKey();
+        if (previous != null && (!previous.hasAnnotations() || !previous.getParametersKey().equals(parametersKey))) {
+            previous = null;
+        }
+        logger.debug("Starting summarization process for text of length: {}", text.length());
 
-        List<List<String>> taggedSentences = preprocessor.tagPartsOfSpeech(processedSentences);
+        // Tokenize the text into sentences
+        List<String> originalSentences = preprocessor.tokenizeSentences(text);
+        logger.debug("Tokenized {} sentences", originalSentences.size());
 
         int originalSentenceCount = originalSentences.size();
-        int originalWordCount = countWords(text);
+        int originalWordCount = WordCounter.count(text);
+        metrics.recordInput(originalSentenceCount, originalWordCount);
+        PipelineTrace trace = metrics.currentTrace();
+        if (trace != null) {
+            trace.setSentenceCount(originalSentenceCount);
+        }
 
         // Determine the number of sentences for the summary
         int numSentences = determineSummaryLength(originalSentences.size());
 
-        // Calculate TF-IDF vectors and build the similarity graph
-        Map<String, Map<String, Double>> tfidfVectors = calculateTFIDFVectors(processedSentences);
-        double similarityThreshold = determineDynamicThreshold(processedSentences, tfidfVectors);
-        Map<String, Set<String>> graph = buildGraph(processedSentences, similarityThreshold, tfidfVectors);
-
-        // Rank sentences using the graph and POS information
-        Map<String, Double> scores = rankSentences(processedSentences, graph, taggedSentences);
-
-        // Apply position and length biases to scores
-        scores = incorporatePositionBias(scores, processedSentences);
-        scores = adjustForSentenceLength(scores, processedSentences);
-
-        // Normalize the scores
-        scores = normalizeScores(scores);
+        // Rank the sentences, in overlapping windows for very long documents
+        SentenceRanking ranking;
+        List<AnnotatedSentence> annotations = null;
+        int reusedSentences = 0;
+        if (chunkedEnabled && originalSentences.size() >= chunkedSentenceThreshold) {
+            ranking = rankChunked(originalSentences);
+            if (chunkedMeasureQuality) {
+                measureChunkedQuality(originalSentences, ranking, numSentences);
+            }
+        } else {
+            annotations = annotateReusing(originalSentences, previous);
+            ProcessedDocument document = new ProcessedDocument(originalSentences, annotations);
+            if (trace != null) {
+                trace.setProcessedSentences(document.getProcessedSentences());
+                trace.setTaggedSentences(document.getTaggedSentences());
+            }
+            double[] initialScores = null;
+            if (previous != null) {
+                initialScores = new double[originalSentenceCount];
+                for (int i = 0; i < originalSentenceCount; i++) {
+                    if (previous.annotation(originalSentences.get(i)) == annotations.get(i)) {
+                        reusedSentences++;
+                    }
+                    double score = previous.pageRankScore(originalSentences.get(i));
+                    initialScores[i] = Double.isNaN(score) ? 1.0 : score;
+                }
+            }
+            ranking = null;
+            if (previous != null && previous.hasGraph() && !isApproximate(originalSentenceCount)) {
+                ranking = rankIncrementally(document.getTokenStream(), previous,
+                        previous.matchSentences(originalSentences), initialScores);
+            }
+            if (ranking == null) {
+                ranking = rank(document.getTokenStream(), initialScores);
+            }
+        }
+        double[] scores = ranking.getScores();
+        long outputStart = System.nanoTime();
 
         // Select the top sentences for the summary
-        List<String> summarizedSentences = selectTopSentences(scores, numSentences, originalSentences, processedSentences);
+        List<String> summarizedSentences = selectTopSentences(scores, numSentences, originalSentences);
 
         // Prepare the ranking and summary information
-        List<SentenceRank> sentenceRanks = new ArrayList<>();
-        for (int i = 0; i < originalSentences.size(); i++) {
-            String originalSentence = originalSentences.get(i);
-            double rank = scores.getOrDefault(processedSentences.get(i), 0.0);
-            sentenceRanks.add(new SentenceRank(originalSentence, rank));
+        List<SentenceRank> sentenceRanks = new ArrayList<>(originalSentenceCount);
+        for (int i = 0; i < originalSentenceCount; i++) {
+            sentenceRanks.add(new SentenceRank(i + 1, originalSentences.get(i), scores[i]));
         }
 
         // Sort sentences by rank in descending order
@@ -84,8 +176,8 @@ public class TextRankSummarizer {
                 .replaceAll("\\.\\s*\\.", ".").trim();
 
         // Count summarized words and calculate reduction rate
-        int summarizedWordCount = countWords(summarizedText);
-        double reductionRate = 1 - ((double) summarizedWordCount / originalWordCount);
+        int summarizedWordCount = WordCounter.count(summarizedText);
+        double reductionRate = originalWordCount == 0 ? 0 : 1 - ((double) summarizedWordCount / originalWordCount);
 
         // Return the summary information
         SummaryInfo summaryInfo = new SummaryInfo(
@@ -102,247 +194,438 @@ public class TextRankSummarizer {
         logger.info("Summarization complete. Original sentences: {}, Summarized sentences: {}",
                 originalSentenceCount, summarizedSentences.size());
 
-        // Graph data processing
-        List<GraphNode> graphNodes = new ArrayList<>();
-        List<GraphLink> graphLinks = new ArrayList<>();
-        for (int i = 0; i < processedSentences.size(); i++) {
-            graphNodes.add(new GraphNode(i + 1, scores.get(processedSentences.get(i))));
+        if (includeGraph) {
+            summaryInfo.setCompactGraph(buildCompactGraph(ranking));
         }
-        for (Map.Entry<String, Set<String>> entry : graph.entrySet()) {
-            int sourceId = processedSentences.indexOf(entry.getKey()) + 1;
-            for (String neighbor : entry.getValue()) {
-                int targetId = processedSentences.indexOf(neighbor) + 1;
-                graphLinks.add(new GraphLink(sourceId, targetId));
+        metrics.record(PipelineMetrics.Stage.OUTPUT, System.nanoTime() - outputStart);
+
+        return new DocumentSnapshot(parametersKey, originalSentences, annotations,
+                annotations == null ? null : ranking, summaryInfo, reusedSentences);
+    }
+
+    /**
+     * Annotates the sentences, taking the annotation of any sentence whose text the
+     * previous snapshot already annotated and annotating the rest in one batch.
+     *
+     * @param sentences The sentences of the document.
+     * @param previous  The previous snapshot, or null.
+     * @return The annotation of every sentence, indexed by sentence id.
+     */
+    private List<AnnotatedSentence> annotateReusing(List<String> sentences, DocumentSnapshot previous) {
+        if (previous == null) {
+            return preprocessor.annotateSentences(sentences);
+        }
+        AnnotatedSentence[] annotated = new AnnotatedSentence[sentences.size()];
+        List<String> changed = new ArrayList<>();
+        for (int i = 0; i < annotated.length; i++) {
+            annotated[i] = previous.annotation(sentences.get(i));
+            if (annotated[i] == null) {
+                changed.add(sentences.get(i));
             }
         }
-        summaryInfo.setGraphData(graphNodes, graphLinks);
-
-        return summaryInfo;
+        if (!changed.isEmpty()) {
+            Iterator<AnnotatedSentence> fresh = preprocessor.annotateSentences(changed).iterator();
+            for (int i = 0; i < annotated.length; i++) {
+                if (annotated[i] == null) {
+                    annotated[i] = fresh.next();
+                }
+            }
+        }
+        logger.debug("Annotated {} changed sentences, reused {}", changed.size(), annotated.length - changed.size());
+        return Arrays.asList(annotated);
     }
 
     /**
-     * Counts the number of words in the given text.
+     * Encodes the ranked graph with each undirected edge once, as parallel id arrays.
      *
-     * @param text The input text.
-     * @return The word count.
+     * @param ranking The ranking whose graph and scores are encoded.
+     * @return The compact graph with 1-based sentence ids.
      */
-    private int countWords(String text) {
-        return text.split("\\s+").length;
+    private CompactGraph buildCompactGraph(SentenceRanking ranking) {
+        double[] scores = ranking.getScores();
+        float[] compactScores = new float[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            compactScores[i] = (float) scores[i];
+        }
+
+        // The graph is symmetric, so keeping the (node, neighbor) pairs with node < neighbor dedupes it
+        SentenceGraph graph = ranking.getGraph();
+        int edgeCount = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            for (int k = graph.neighborStart(node); k < graph.neighborEnd(node); k++) {
+                if (node < graph.neighborAt(k)) {
+                    edgeCount++;
+                }
+            }
+        }
+        int[] sources = new int[edgeCount];
+        int[] targets = new int[edgeCount];
+        int edge = 0;
+        for (int node = 0; node < graph.size(); node++) {
+            int sourceId = ranking.sentenceId(node) + 1;
+            for (int k = graph.neighborStart(node); k < graph.neighborEnd(node); k++) {
+                int neighbor = graph.neighborAt(k);
+                if (node < neighbor) {
+                    int targetId = ranking.sentenceId(neighbor) + 1;
+                    sources[edge] = Math.min(sourceId, targetId);
+                    targets[edge] = Math.max(sourceId, targetId);
+                    edge++;
+                }
+            }
+        }
+        return new CompactGraph(compactScores, sources, targets);
     }
 
     /**
-     * Determines the number of sentences to include in the summary.
+     * Describes the settings that affect the summarization output, so that cached
+     * results are only reused under the same configuration.
      *
-     * @param numSentencesInText The total number of sentences in the input text.
-     * @return The number of sentences for the summary.
+     * @return A compact description of the active parameters.
      */
-    private int determineSummaryLength(int numSentencesInText) {
-        return Math.max(1, (int) Math.ceil(numSentencesInText * 0.6));
+    public String getParametersKey() {
+        String approximate = approximateEnabled
+                ? approximateSentenceThreshold + "/" + approximateBands + "x" + approximateRows
+                : "off";
+        String chunked = chunkedEnabled
+                ? chunkedSentenceThreshold + "/" + chunkWindowSize + "/" + chunkOverlap
+                : "off";
+        String idf = idfTable.isEmpty() ? "document" : idfTable.documentCount() + "/" + idfTable.termCount();
+        return "ratio=" + SUMMARY_RATIO + ";approximate=" + approximate + ";chunked=" + chunked + ";idf=" + idf;
     }
 
     /**
-     * Calculates the TF-IDF vectors for each sentence in the input list.
+     * Scores sentences with TextRank: builds the TF-IDF similarity graph, runs
+     * PageRank on it, applies the position and length biases and normalizes.
      *
-     * @param sentences The list of sentences.
-     * @return A map containing TF-IDF vectors for each sentence.
+     * @param tokens        The content terms of the sentences.
+     * @param initialScores The PageRank scores to start from, or null to start from 1 for every sentence.
+     * @return The normalized scores and the graph they were ranked on.
      */
-    private Map<String, Map<String, Double>> calculateTFIDFVectors(List<String> sentences) {
-        Set<String> vocabulary = new HashSet<>();
-        for (String sentence : sentences) {
-            String[] words = sentence.toLowerCase().split("\\s+");
-            Collections.addAll(vocabulary, words);
+    private SentenceRanking rank(TokenStream tokens, double[] initialScores) {
+        // Calculate TF-IDF vectors and build the similarity graph
+        long start = System.nanoTime();
+        InvertedIndex tfidfIndex = calculateTFIDFVectors(tokens);
+        long indexed = System.nanoTime();
+        metrics.record(PipelineMetrics.Stage.TFIDF, indexed - start);
+        SentenceGraph graph;
+        double similarityThreshold = Double.NaN;
+        if (isApproximate(tokens.sentenceCount())) {
+            // LSH scores candidate pairs while building the graph, so it all counts as graph time
+            graph = buildApproximateGraph(tfidfIndex.getVectors());
+            metrics.record(PipelineMetrics.Stage.GRAPH, System.nanoTime() - indexed);
+        } else {
+            SimilarityMatrix similarities = SimilarityMatrix.compute(tfidfIndex);
+            similarityThreshold = determineDynamicThreshold(similarities);
+            PipelineTrace trace = metrics.currentTrace();
+            if (trace != null) {
+                trace.setSimilarityThreshold(similarityThreshold);
+            }
+            long compared = System.nanoTime();
+            metrics.record(PipelineMetrics.Stage.SIMILARITY, compared - indexed);
+            graph = buildGraph(similarityThreshold, similarities);
+            metrics.record(PipelineMetrics.Stage.GRAPH, System.nanoTime() - compared);
         }
+        // Only an exact graph is kept for later edits, since LSH may have missed edges
+        return rankGraph(tokens, graph, initialScores,
+                Double.isNaN(similarityThreshold) ? null : tfidfIndex, similarityThreshold);
+    }
 
-        Map<String, Map<String, Integer>> tf = new HashMap<>();
-        for (String sentence : sentences) {
-            tf.put(sentence, new HashMap<>());
-            String[] words = sentence.toLowerCase().split("\\s+");
-            for (String word : words) {
-                tf.get(sentence).put(word, tf.get(sentence).getOrDefault(word, 0) + 1);
+    /**
+     * Scores an edited document by updating the graph of its previous version. The IDF
+     * of every term and the similarity threshold are pinned to the values the session
+     * started with, so pairs of unchanged sentences keep their edges and only the rows
+     * of changed sentences are scored. When most sentences changed, updating would cost
+     * about as much as a cold start, so null is returned and the caller ranks from scratch,
+     * which also re-pins the IDF and threshold to the current text.
+     *
+     * @param tokens        The content terms of the sentences.
+     * @param previous      The snapshot of the previous version, holding its graph.
+     * @param previousIds   The index in the previous version of every sentence, or -1 for a changed one.
+     * @param initialScores The PageRank scores to start from.
+     * @return The normalized scores and the updated graph, or null if too much changed.
+     */
+    private SentenceRanking rankIncrementally(TokenStream tokens, DocumentSnapshot previous, int[] previousIds,
+                                              double[] initialScores) {
+        int changed = 0;
+        for (int previousId : previousIds) {
+            if (previousId < 0) {
+                changed++;
             }
         }
+        if (changed * 2 > previousIds.length) {
+            return null;
+        }
+        long start = System.nanoTime();
+        InvertedIndex tfidfIndex = InvertedIndex.build(tokens, idfTable, previous.getTermIdf());
+        long indexed = System.nanoTime();
+        metrics.record(PipelineMetrics.Stage.TFIDF, indexed - start);
+        double similarityThreshold = previous.getSimilarityThreshold();
+        PipelineTrace trace = metrics.currentTrace();
+        if (trace != null) {
+            trace.setSimilarityThreshold(similarityThreshold);
+        }
+        // Changed rows are scored while the graph is updated, so it all counts as graph time
+        SentenceGraph graph = IncrementalGraphBuilder.update(previous.getGraph(), previousIds, tfidfIndex,
+                similarityThreshold);
+        metrics.record(PipelineMetrics.Stage.GRAPH, System.nanoTime() - indexed);
+        logger.debug("Updated the graph of {} sentences, rescoring {} changed", previousIds.length, changed);
+        return rankGraph(tokens, graph, initialScores, tfidfIndex, similarityThreshold);
+    }
+
+    /**
+     * Runs PageRank on the graph, applies the position and length biases and normalizes.
+     *
+     * @param tokens              The content terms of the sentences.
+     * @param graph               The similarity graph.
+     * @param initialScores       The PageRank scores to start from, or null to start from 1 for every sentence.
+     * @param index               The inverted index of an exact graph, or null.
+     * @param similarityThreshold The threshold of an exact graph, or NaN.
+     * @return The normalized scores and the graph they were ranked on.
+     */
+    private SentenceRanking rankGraph(TokenStream tokens, SentenceGraph graph, double[] initialScores,
+                                      InvertedIndex index, double similarityThreshold) {
+        metrics.recordGraphEdges(graph.edgeCount() / 2);
+
+        // Rank sentences using the graph
+        long rankStart = System.nanoTime();
+        double[] pageRankScores = rankSentences(graph, initialScores);
+        double[] scores = pageRankScores.clone();
+
+        // Apply position and length biases to scores
+        incorporatePositionBias(scores);
+        adjustForSentenceLength(scores, tokens);
+
+        // Normalize the scores
+        normalizeScores(scores);
+        metrics.record(PipelineMetrics.Stage.RANKING, System.nanoTime() - rankStart);
+        return new SentenceRanking(scores, graph, null, pageRankScores, index, similarityThreshold);
+    }
 
-        Map<String, Double> idf = new HashMap<>();
-        for (String word : vocabulary) {
-            int docCount = 0;
-            for (String sentence : sentences) {
-                if (sentence.contains(word)) {
-                    docCount++;
+    private boolean isApproximate(int sentenceCount) {
+        return approximateEnabled && sentenceCount >= approximateSentenceThreshold;
+    }
+
+    /**
+     * Ranks a long document hierarchically. The sentences are split into overlapping
+     * windows that are annotated and ranked independently in parallel; each window
+     * keeps its top sentences, and a final TextRank pass over the union of those
+     * winners produces the document scores. Similarity and graph memory is bounded
+     * by the window size, and only the winners' annotations outlive their window.
+     *
+     * @param originalSentences The sentences of the document.
+     * @return The scores of all sentences (0 for sentences no window selected) and the final graph.
+     */
+    private SentenceRanking rankChunked(List<String> originalSentences) {
+        int n = originalSentences.size();
+        int windowSize = Math.max(2, chunkWindowSize);
+        int step = Math.max(1, windowSize - Math.max(0, chunkOverlap));
+        int windowCount = Math.max(1, (Math.max(0, n - windowSize) + step - 1) / step + 1);
+        logger.info("Chunked ranking of {} sentences in {} windows of {} (step {})", n, windowCount, windowSize, step);
+
+        AnnotatedSentence[] winners = new AnnotatedSentence[n];
+        IntStream.range(0, windowCount).parallel().forEach(window -> {
+            // Windows that happen to run on the calling thread would otherwise report into its trace,
+            // so only the final ranking of the winners is traced
+            try (PipelineMetrics.TraceScope untraced = metrics.suspendTrace()) {
+                int start = window * step;
+                int end = Math.min(n, start + windowSize);
+                List<AnnotatedSentence> annotated = preprocessor.annotateSentences(originalSentences.subList(start, end));
+                double[] windowScores = rank(TokenStream.of(annotated), null).getScores();
+                for (int local : topIndices(windowScores, determineSummaryLength(windowScores.length))) {
+                    // Overlapping windows may both select a sentence; either annotation is identical
+                    winners[start + local] = annotated.get(local);
                 }
             }
-            idf.put(word, Math.log((double) sentences.size() / (docCount + 1)));
+        });
+
+        int winnerCount = 0;
+        int[] winnerIds = new int[n];
+        List<AnnotatedSentence> winnerSentences = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (winners[i] != null) {
+                winnerIds[winnerCount++] = i;
+                winnerSentences.add(winners[i]);
+            }
+        }
+
+        // The winners come from windows with separate vocabularies, so their terms are interned afresh
+        SentenceRanking finalRanking = rank(TokenStream.of(winnerSentences), null);
+        double[] scores = new double[n];
+        for (int k = 0; k < winnerCount; k++) {
+            scores[winnerIds[k]] = finalRanking.getScores()[k];
         }
+        return new SentenceRanking(scores, finalRanking.getGraph(), Arrays.copyOf(winnerIds, winnerCount), null);
+    }
 
-        Map<String, Map<String, Double>> tfidfVectors = new HashMap<>();
-        for (String sentence : sentences) {
-            tfidfVectors.put(sentence, new HashMap<>());
-            for (String word : vocabulary) {
-                double tfidf = tf.get(sentence).getOrDefault(word, 0) * idf.get(word);
-                tfidfVectors.get(sentence).put(word, tfidf);
+    /**
+     * Runs the exact ranking as well and logs how much of its summary the chunked ranking reproduced.
+     *
+     * @param originalSentences The sentences of the document.
+     * @param chunked           The chunked ranking.
+     * @param numSentences      The number of sentences in the summary.
+     */
+    private void measureChunkedQuality(List<String> originalSentences, SentenceRanking chunked, int numSentences) {
+        ProcessedDocument document = preprocessor.preprocess(originalSentences);
+        double[] exactScores = rank(document.getTokenStream(), null).getScores();
+        Set<Integer> exactSummary = new HashSet<>();
+        for (int id : topIndices(exactScores, numSentences)) {
+            exactSummary.add(id);
+        }
+        int shared = 0;
+        for (int id : topIndices(chunked.getScores(), numSentences)) {
+            if (exactSummary.contains(id)) {
+                shared++;
             }
         }
-        return tfidfVectors;
+        logger.info("Chunked summary quality: {} of {} exact summary sentences selected ({})",
+                shared, exactSummary.size(), (double) shared / Math.max(1, exactSummary.size()));
+    }
+
+    /**
+     * Determines the number of sentences to include in the summary.
+     *
+     * @param numSentencesInText The total number of sentences in the input text.
+     * @return The number of sentences for the summary.
+     */
+    private int determineSummaryLength(int numSentencesInText) {
+        return Math.max(1, (int) Math.ceil(numSentencesInText * SUMMARY_RATIO));
+    }
+
+    /**
+     * Calculates sparse TF-IDF vectors for each sentence of the token stream.
+     * The terms are already interned into a per-document vocabulary and are indexed
+     * in one pass; IDF comes from the corpus table, or for terms it lacks, from the
+     * postings of the resulting inverted index.
+     *
+     * @param tokens The content terms of the sentences.
+     * @return The inverted index holding the TF-IDF vectors, in the same order as the sentences.
+     */
+    InvertedIndex calculateTFIDFVectors(TokenStream tokens) {
+        return InvertedIndex.build(tokens, idfTable);
     }
 
     /**
      * Determines a dynamic similarity threshold based on sentence similarities.
      *
-     * @param sentences      The list of sentences.
-     * @param tfidfVectors   The TF-IDF vectors for the sentences.
+     * @param similarities The pairwise sentence similarities.
      * @return The calculated similarity threshold.
      */
-    private double determineDynamicThreshold(List<String> sentences, Map<String, Map<String, Double>> tfidfVectors) {
-        List<Double> similarities = new ArrayList<>();
-        for (int i = 0; i < sentences.size(); i++) {
-            String sentence1 = sentences.get(i);
-            for (int j = i + 1; j < sentences.size(); j++) {
-                String sentence2 = sentences.get(j);
-                double similarity = cosineSimilarity(tfidfVectors.get(sentence1), tfidfVectors.get(sentence2));
-                similarities.add(similarity);
-            }
-        }
-        Collections.sort(similarities);
-        double percentile = 0.50; // 50th percentile
-        int percentileIndex = (int) (similarities.size() * percentile);
-        return similarities.get(percentileIndex);
+    double determineDynamicThreshold(SimilarityMatrix similarities) {
+        return similarities.percentile(SIMILARITY_PERCENTILE);
     }
 
     /**
      * Builds a similarity graph based on TF-IDF similarity.
      *
-     * @param sentences            The list of sentences.
      * @param similarityThreshold   The threshold for considering sentences similar.
-     * @param tfidfVectors        The TF-IDF vectors for the sentences.
-     * @return A map representing the similarity graph.
+     * @param similarities        The pairwise sentence similarities.
+     * @return The similarity graph in compressed sparse row form.
      */
-    private Map<String, Set<String>> buildGraph(List<String> sentences, double similarityThreshold, Map<String, Map<String, Double>> tfidfVectors) {
-        Map<String, Set<String>> graph = new HashMap<>();
-        for (String sentence : sentences) {
-            graph.put(sentence, new HashSet<>());
-        }
-        for (int i = 0; i < sentences.size(); i++) {
-            String sentence1 = sentences.get(i);
-            for (int j = i + 1; j < sentences.size(); j++) {
-                String sentence2 = sentences.get(j);
-                double similarity = cosineSimilarity(tfidfVectors.get(sentence1), tfidfVectors.get(sentence2));
-                if (similarity > similarityThreshold) {
-                    graph.get(sentence1).add(sentence2);
-                    graph.get(sentence2).add(sentence1);
-                }
-            }
-        }
-        return graph;
+    SentenceGraph buildGraph(double similarityThreshold, SimilarityMatrix similarities) {
+        return SentenceGraph.fromSimilarities(similarities, similarityThreshold);
     }
 
     /**
-     * Calculates the cosine similarity between two vectors.
+     * Builds an approximate similarity graph using MinHash locality-sensitive hashing,
+     * scoring only candidate pairs instead of every pair of sentences.
      *
-     * @param vector1 The first vector.
-     * @param vector2 The second vector.
-     * @return The cosine similarity between the two vectors.
+     * @param tfidfVectors The TF-IDF vectors for the sentences.
+     * @return The approximate similarity graph.
      */
-    private double cosineSimilarity(Map<String, Double> vector1, Map<String, Double> vector2) {
-        double dotProduct = 0.0;
-        double magnitude1 = 0.0;
-        double magnitude2 = 0.0;
-
-        for (String key : vector1.keySet()) {
-            dotProduct += vector1.get(key) * vector2.getOrDefault(key, 0.0);
-            magnitude1 += Math.pow(vector1.get(key), 2);
-        }
-        for (double value : vector2.values()) {
-            magnitude2 += Math.pow(value, 2);
-        }
-
-        magnitude1 = Math.sqrt(magnitude1);
-        magnitude2 = Math.sqrt(magnitude2);
+    private SentenceGraph buildApproximateGraph(List<SparseVector> tfidfVectors) {
+        MinHashGraphBuilder builder = new MinHashGraphBuilder(
+                approximateBands, approximateRows, approximateRecallSampleSize, tfidfVectors.size());
+        MinHashGraphBuilder.Result result = builder.build(tfidfVectors, SIMILARITY_PERCENTILE);
+        logger.info("Approximate graph for {} sentences: {} candidate pairs, {} edges, threshold {}, estimated recall {}",
+                tfidfVectors.size(), result.getCandidatePairs(), result.getGraph().edgeCount() / 2,
+                result.getThreshold(), result.getRecall());
+        return result.getGraph();
+    }
 
-        if (magnitude1 == 0 || magnitude2 == 0) {
-            return 0.0;
-        }
-        return dotProduct / (magnitude1 * magnitude2);
+    /**
+     * Ranks sentences based on the similarity graph.
+     *
+     * @param graph         The similarity graph.
+     * @return The score of each sentence, indexed by sentence id.
+     */
+    double[] rankSentences(SentenceGraph graph) {
+        return rankSentences(graph, null);
     }
 
     /**
-     * Ranks sentences based on the similarity graph and POS information.
+     * Ranks sentences based on the similarity graph, starting from the given scores.
      *
-     * @param sentences      The list of processed sentences.
      * @param graph         The similarity graph.
-     * @param taggedSentences The POS-tagged sentences.
-     * @return A map containing the scores for each sentence.
+     * @param initialScores The score to start each sentence from, or null to start from 1.
+     * @return The score of each sentence, indexed by sentence id.
      */
-    private Map<String, Double> rankSentences(List<String> sentences, Map<String, Set<String>> graph, List<List<String>> taggedSentences) {
-        Map<String, Double> scores = new HashMap<>();
-        for (String sentence : sentences) {
-            scores.put(sentence, 1.0); // Initialize scores
+    double[] rankSentences(SentenceGraph graph, double[] initialScores) {
+        double[] scores = new double[graph.size()];
+        double[] newScores = new double[graph.size()];
+        if (initialScores == null) {
+            Arrays.fill(scores, 1.0); // Initialize scores
+        } else {
+            System.arraycopy(initialScores, 0, scores, 0, scores.length);
         }
 
-        for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
-            Map<String, Double> newScores = new HashMap<>();
-            for (String sentence : sentences) {
-                double score = (1 - DAMPING_FACTOR);
-                for (String neighbor : graph.get(sentence)) {
-                    score += DAMPING_FACTOR * (scores.get(neighbor) / graph.get(neighbor).size());
-                }
-                newScores.put(sentence, score);
-            }
+        int iteration = 0;
+        while (iteration < MAX_ITERATIONS) {
+            double maxDiff = graph.step(scores, newScores, DAMPING_FACTOR);
+            iteration++;
 
-            double maxDiff = 0.0;
-            for (String sentence : sentences) {
-                maxDiff = Math.max(maxDiff, Math.abs(newScores.get(sentence) - scores.get(sentence)));
-            }
+            // Swap buffers so the new scores become the current ones
+            double[] previous = scores;
             scores = newScores;
+            newScores = previous;
 
             if (maxDiff < MIN_DIFF) {
                 break;
             }
         }
+        metrics.recordRankingIterations(iteration);
         return scores;
     }
 
     /**
      * Incorporates position bias into the sentence scores.
      *
-     * @param scores       The current scores of the sentences.
-     * @param sentences    The list of processed sentences.
-     * @return The adjusted scores with position bias.
+     * @param scores       The current scores of the sentences, adjusted in place.
      */
-    private Map<String, Double> incorporatePositionBias(Map<String, Double> scores, List<String> sentences) {
-        for (int i = 0; i < sentences.size(); i++) {
-            String sentence = sentences.get(i);
-            double positionBias = 1.0 - ((double) i / sentences.size()); // Higher score for earlier sentences
-            scores.put(sentence, scores.get(sentence) * positionBias);
+    private void incorporatePositionBias(double[] scores) {
+        for (int i = 0; i < scores.length; i++) {
+            double positionBias = 1.0 - ((double) i / scores.length); // Higher score for earlier sentences
+            scores[i] *= positionBias;
         }
-        return scores;
     }
 
     /**
      * Adjusts scores based on sentence length.
      *
-     * @param scores       The current scores of the sentences.
-     * @param sentences    The list of processed sentences.
-     * @return The adjusted scores with length bias.
+     * @param scores       The current scores of the sentences, adjusted in place.
+     * @param tokens       The content terms of the sentences.
      */
-    private Map<String, Double> adjustForSentenceLength(Map<String, Double> scores, List<String> sentences) {
-        for (String sentence : sentences) {
-            double lengthBias = 1.0 - ((double) sentence.split("\\s+").length / 30); // Penalty for longer sentences
-            scores.put(sentence, scores.get(sentence) * lengthBias);
+    private void adjustForSentenceLength(double[] scores, TokenStream tokens) {
+        for (int i = 0; i < scores.length; i++) {
+            // A sentence without content terms counts as one word, as its empty processed text always did
+            int length = Math.max(1, tokens.termCount(i));
+            double lengthBias = 1.0 - ((double) length / 30); // Penalty for longer sentences
+            scores[i] *= lengthBias;
         }
-        return scores;
     }
 
     /**
      * Normalizes the sentence scores to ensure they sum to 1.
      *
-     * @param scores The current scores of the sentences.
-     * @return The normalized scores.
+     * @param scores The current scores of the sentences, normalized in place.
      */
-    private Map<String, Double> normalizeScores(Map<String, Double> scores) {
-        double totalScore = scores.values().stream().mapToDouble(Double::doubleValue).sum();
-        for (String sentence : scores.keySet()) {
-            scores.put(sentence, scores.get(sentence) / totalScore);
+    private void normalizeScores(double[] scores) {
+        double totalScore = 0.0;
+        for (double score : scores) {
+            totalScore += score;
+        }
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] /= totalScore;
         }
-        return scores;
     }
 
     /**
@@ -351,21 +634,34 @@ public class TextRankSummarizer {
      * @param scores             The scores of the sentences.
      * @param numSentences       The number of sentences to include in the summary.
      * @param originalSentences  The list of original sentences.
-     * @param processedSentences The list of processed sentences.
-     * @return The selected top sentences.
+     * @return The selected original sentences, highest score first.
      */
-    private List<String> selectTopSentences(Map<String, Double> scores, int numSentences, List<String> originalSentences, List<String> processedSentences) {
-        List<Map.Entry<String, Double>> sortedScores = new ArrayList<>(scores.entrySet());
-        sortedScores.sort((a, b) -> Double.compare(b.getValue(), a.getValue())); // Sort by score
-
+    private List<String> selectTopSentences(double[] scores, int numSentences, List<String> originalSentences) {
         List<String> summarizedSentences = new ArrayList<>();
-        Set<String> selectedSentences = new HashSet<>();
-
-        for (int i = 0; i < Math.min(numSentences, sortedScores.size()); i++) {
-            String sentence = sortedScores.get(i).getKey();
-            summarizedSentences.add(originalSentences.get(processedSentences.indexOf(sentence))); // Retrieve the original sentence
-            selectedSentences.add(sentence);
+        for (int sentenceId : topIndices(scores, numSentences)) {
+            summarizedSentences.add(originalSentences.get(sentenceId)); // Retrieve the original sentence
         }
         return summarizedSentences;
     }
+
+    /**
+     * Returns the indices of the highest scores, highest first; ties keep document order.
+     *
+     * @param scores The scores.
+     * @param count  The maximum number of indices to return.
+     * @return The selected indices.
+     */
+    private int[] topIndices(double[] scores, int count) {
+        Integer[] order = new Integer[scores.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(scores[b], scores[a])); // Sort by score
+
+        int[] top = new int[Math.min(count, order.length)];
+        for (int i = 0; i < top.length; i++) {
+            top[i] = order[i];
+        }
+        return top;
+    }
 }
@@ -8,6 +8,8 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -22,23 +24,34 @@ public class CSVLoaderService {
 
     //Method to load CSV as Sets.
     public Set<String> loadAsSet(String filename, String delimiter) {
-        Set<String> result = new HashSet<>();
         try (BufferedReader reader = createReader(filename)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                String[] values = line.split(delimiter);
-                for (String value : values) {
-                    String trimmed = value.trim();
-                    if (!trimmed.isEmpty()) {
-                        result.add(trimmed);
-                    }
-                }
-            }
-            logger.info("Loaded {} items from {}", result.size(), filename);
+            return read(reader, filename, delimiter);
         } catch (IOException e) {
             logger.error("Error loading CSV file {}: {}", filename, e.getMessage());
             throw new RuntimeException("Failed to load CSV file: " + filename, e);
         }
+    }
+
+    // Load a comma-separated file from the filesystem rather than the classpath
+    public Set<String> loadAsSet(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            return read(reader, file.toString(), ",");
+        }
+    }
+
+    private Set<String> read(BufferedReader reader, String source, String delimiter) throws IOException {
+        Set<String> result = new HashSet<>();
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] values = line.split(delimiter);
+            for (String value : values) {
+                String trimmed = value.trim();
+                if (!trimmed.isEmpty()) {
+                    result.add(trimmed);
+                }
+            }
+        }
+        logger.info("Loaded {} items from {}", result.size(), source);
         return result;
     }
 
@@ -0,0 +1,60 @@
+package com.summary.eSummarizer.Utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Hashes input text for result caching. Whitespace runs are collapsed to a single
+ * space and leading/trailing whitespace is ignored, so reformatted copies of the
+ * same text share one key.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    /**
+     * Returns the hex SHA-256 of the whitespace-normalized text followed by the parameters.
+     * SHA-256 is used rather than a non-cryptographic hash because cached summaries
+     * are shared between users, so keys must not be forgeable by crafted collisions.
+     *
+     * @param text       The input text.
+     * @param parameters The settings the result depends on.
+     * @return A 64-character lowercase hex digest.
+     */
+    public static String of(String text, String parameters) {
+        MessageDigest digest = sha256();
+        digest.update(normalize(text).getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(parameters.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    static String normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+            } else {
+                if (pendingSpace) {
+                    normalized.append(' ');
+                    pendingSpace = false;
+                }
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
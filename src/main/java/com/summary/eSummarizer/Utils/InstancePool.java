@@ -0,0 +1,67 @@
+package com.summary.eSummarizer.Utils;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of non-thread-safe objects, such as OpenNLP *ME instances built
+ * from a shared immutable model. At most {@code maxSize} instances are created,
+ * lazily, and each is used by one caller at a time.
+ * <p>
+ * Waiting is done on a {@link Semaphore} rather than in a synchronized block and
+ * instances are not tied to threads, so the pool stays bounded and does not pin
+ * carrier threads when callers run on virtual threads.
+ */
+public class InstancePool<T> {
+
+    private final Supplier<T> factory;
+    private final Semaphore permits;
+    private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+    private final int maxSize;
+
+    public InstancePool(int maxSize, Supplier<T> factory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.factory = factory;
+        this.permits = new Semaphore(maxSize);
+    }
+
+    /**
+     * Runs the given work with an exclusively leased instance, waiting if all instances are in use.
+     *
+     * @param work The work to run.
+     * @return The result of the work.
+     */
+    public <R> R withInstance(Function<T, R> work) {
+        permits.acquireUninterruptibly();
+        try {
+            T instance = idle.poll();
+            if (instance == null) {
+                instance = factory.get();
+            }
+            try {
+                return work.apply(instance);
+            } finally {
+                idle.offer(instance);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Resolves a configured pool size, where a non-positive value means one instance per core.
+     */
+    public static int resolveSize(int configuredSize) {
+        return configuredSize > 0 ? configuredSize : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,124 @@
+package com.summary.eSummarizer.Utils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Immutable set of words with case-insensitive lookups that do not allocate.
+ * The words are lowercased into one shared char array and indexed by an
+ * open-addressing hash table; lookups fold case while hashing and comparing,
+ * so a token can be tested as written, or as a slice of a larger string,
+ * without creating a lowercased copy.
+ */
+public final class Lexicon {
+
+    public static final Lexicon EMPTY = of(List.of());
+
+    private final char[] chars;
+    // Word w occupies chars[offsets[w], offsets[w + 1])
+    private final int[] offsets;
+    private final int[] hashes;
+    // Open-addressing table of word index + 1; 0 marks an empty slot
+    private final int[] slots;
+    private final int mask;
+
+    private Lexicon(char[] chars, int[] offsets, int[] hashes, int[] slots) {
+        this.chars = chars;
+        this.offsets = offsets;
+        this.hashes = hashes;
+        this.slots = slots;
+        this.mask = slots.length - 1;
+    }
+
+    /**
+     * Builds a lexicon from the given words. Words are trimmed and lowercased;
+     * blanks and duplicates are dropped.
+     *
+     * @param words The words.
+     * @return The lexicon.
+     */
+    public static Lexicon of(Collection<? extends CharSequence> words) {
+        String[] normalized = words.stream()
+                .map(word -> word.toString().trim().toLowerCase(Locale.ROOT))
+                .filter(word -> !word.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+        int length = 0;
+        for (String word : normalized) {
+            length += word.length();
+        }
+
+        char[] chars = new char[length];
+        int[] offsets = new int[normalized.length + 1];
+        int[] hashes = new int[normalized.length];
+        // Load factor at most 0.5 keeps probe sequences short
+        int[] slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, normalized.length) * 2 - 1) << 1)];
+        int mask = slots.length - 1;
+        int position = 0;
+        for (int w = 0; w < normalized.length; w++) {
+            String word = normalized[w];
+            word.getChars(0, word.length(), chars, position);
+            offsets[w] = position;
+            position += word.length();
+            hashes[w] = hash(word, 0, word.length());
+            int slot = hashes[w] & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = w + 1;
+        }
+        offsets[normalized.length] = position;
+        return new Lexicon(chars, offsets, hashes, slots);
+    }
+
+    public boolean contains(CharSequence text) {
+        return contains(text, 0, text.length());
+    }
+
+    /**
+     * Tests whether {@code text[start, end)} is in the lexicon, ignoring case.
+     */
+    public boolean contains(CharSequence text, int start, int end) {
+        int hash = hash(text, start, end);
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int word = slots[slot] - 1;
+            if (hashes[word] == hash && matches(word, text, start, end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+
+    private boolean matches(int word, CharSequence text, int start, int end) {
+        int offset = offsets[word];
+        if (offsets[word + 1] - offset != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (chars[offset++] != fold(text.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int hash = 0x811c9dc5;
+        for (int i = start; i < end; i++) {
+            hash = (hash ^ fold(text.charAt(i))) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static char fold(char c) {
+        if (c < 128) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(c);
+    }
+}
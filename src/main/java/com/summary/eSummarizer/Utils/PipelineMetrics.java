@@ -0,0 +1,154 @@
+package com.summary.eSummarizer.Utils;
+
+import com.summary.eSummarizer.DTO.PipelineTrace;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meters for the stages of the summarization pipeline. Stage timings are recorded
+ * once per document (or per chunk in chunked mode) rather than per sentence, so
+ * the cost is a handful of counter updates per request.
+ * <p>
+ * A {@link PipelineTrace} can be attached to the current thread with
+ * {@link #startTrace(PipelineTrace)}; stages that run on that thread then also
+ * report into it. Without a trace the only extra work is a thread-local read.
+ */
+@Component
+public class PipelineMetrics {
+
+    public enum Stage {
+        SENTENCE_DETECTION, TOKENIZATION, POS_TAGGING, LEMMATIZATION, TFIDF, SIMILARITY, GRAPH, RANKING, OUTPUT;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    // A few fixed buckets keep the Prometheus histogram small; stages range from microseconds to seconds
+    private static final Duration[] STAGE_BUCKETS = {
+            Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(25), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofSeconds(5),
+            Duration.ofSeconds(30)
+    };
+
+    private static final ThreadLocal<PipelineTrace> activeTrace = new ThreadLocal<>();
+
+    private final Timer[] stageTimers = new Timer[Stage.values().length];
+    private final DistributionSummary inputSentences;
+    private final DistributionSummary inputWords;
+    private final DistributionSummary rankingIterations;
+    private final DistributionSummary graphEdges;
+
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        for (Stage stage : Stage.values()) {
+            stageTimers[stage.ordinal()] = Timer.builder("summarize.stage")
+                    .description("Time spent in one summarization stage for a document")
+                    .tag("stage", stage.tag)
+                    .serviceLevelObjectives(STAGE_BUCKETS)
+                    .register(meterRegistry);
+        }
+        this.inputSentences = DistributionSummary.builder("summarize.input.sentences")
+                .description("Sentences per summarized document")
+                .baseUnit("sentences")
+                .serviceLevelObjectives(10, 50, 100, 500, 1000, 5000, 10000)
+                .register(meterRegistry);
+        this.inputWords = DistributionSummary.builder("summarize.input.words")
+                .description("Words per summarized document")
+                .baseUnit("words")
+                .serviceLevelObjectives(200, 1000, 5000, 20000, 100000, 500000)
+                .register(meterRegistry);
+        this.rankingIterations = DistributionSummary.builder("summarize.ranking.iterations")
+                .description("PageRank iterations until convergence")
+                .baseUnit("iterations")
+                .serviceLevelObjectives(5, 10, 20, 30, 50, 75, 100)
+                .register(meterRegistry);
+        this.graphEdges = DistributionSummary.builder("summarize.graph.edges")
+                .description("Undirected edges in the sentence graph")
+                .baseUnit("edges")
+                .serviceLevelObjectives(10, 100, 1000, 10000, 100000, 1000000, 10000000)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records time spent in a stage.
+     *
+     * @param stage The stage.
+     * @param nanos The elapsed time from {@link System#nanoTime()} differences.
+     */
+    public void record(Stage stage, long nanos) {
+        stageTimers[stage.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+        PipelineTrace trace = activeTrace.get();
+        if (trace != null) {
+            trace.addStageTime(stage.tag, nanos);
+        }
+    }
+
+    public void recordInput(int sentences, int words) {
+        inputSentences.record(sentences);
+        inputWords.record(words);
+    }
+
+    public void recordRankingIterations(int iterations) {
+        rankingIterations.record(iterations);
+        PipelineTrace trace = activeTrace.get();
+        if (trace != null) {
+            trace.setRankingIterations(iterations);
+        }
+    }
+
+    public void recordGraphEdges(long edges) {
+        graphEdges.record(edges);
+        PipelineTrace trace = activeTrace.get();
+        if (trace != null) {
+            trace.setGraphEdges(edges);
+        }
+    }
+
+    /**
+     * Returns the trace attached to the current thread.
+     *
+     * @return The active trace, or null when the current request is not traced.
+     */
+    public PipelineTrace currentTrace() {
+        return activeTrace.get();
+    }
+
+    /**
+     * Attaches a trace to the current thread until the returned scope is closed.
+     * Work handed to other threads is not traced; their totals still reach the meters.
+     *
+     * @param trace The trace to fill.
+     * @return The scope to close when the traced work is done.
+     */
+    public TraceScope startTrace(PipelineTrace trace) {
+        PipelineTrace previous = activeTrace.get();
+        activeTrace.set(trace);
+        return () -> {
+            if (previous == null) {
+                activeTrace.remove();
+            } else {
+                activeTrace.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Detaches the current trace until the returned scope is closed. Parallel work that
+     * may run on the traced thread or on pool threads, such as the windows of chunked
+     * ranking, suspends the trace so what it reports does not depend on scheduling.
+     *
+     * @return The scope to close when the untraced work is done.
+     */
+    public TraceScope suspendTrace() {
+        return startTrace(null);
+    }
+
+    public interface TraceScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
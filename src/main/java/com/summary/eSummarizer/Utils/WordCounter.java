@@ -0,0 +1,35 @@
+package com.summary.eSummarizer.Utils;
+
+/**
+ * Counts whitespace-separated words by scanning the characters, without splitting
+ * the text into strings.
+ */
+public final class WordCounter {
+
+    private WordCounter() {
+    }
+
+    /**
+     * Counts the runs of non-whitespace characters, treating the same characters as
+     * whitespace as the regex class {@code \s}.
+     *
+     * @param text The text.
+     * @return The word count, 0 for blank text.
+     */
+    public static int count(CharSequence text) {
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            boolean space = isWhitespace(text.charAt(i));
+            if (!space && !inWord) {
+                words++;
+            }
+            inWord = !space;
+        }
+        return words;
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
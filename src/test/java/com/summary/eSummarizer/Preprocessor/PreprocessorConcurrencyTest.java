@@ -0,0 +1,153 @@
+package com.summary.eSummarizer.Preprocessor;
+
+import com.summary.eSummarizer.Service.LemmatizationService;
+import com.summary.eSummarizer.Service.LexiconService;
+import com.summary.eSummarizer.Service.OpenNLPModels;
+import com.summary.eSummarizer.Service.POSService;
+import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the pooled OpenNLP stages from many threads at once, with far fewer pooled
+ * instances than threads, and checks the results against a single-threaded run.
+ */
+class PreprocessorConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int POOL_SIZE = 2;
+    private static final int ROUNDS = 5;
+
+    private static final List<String> SENTENCES = List.of(
+            "The quick brown fox jumps over the lazy dog.",
+            "Researchers published their findings on renewable energy storage last week.",
+            "She was running faster than anyone had expected during the final lap.",
+            "Interest rates rose again, and the markets reacted with unusual volatility.",
+            "The children were playing in the gardens while their parents cooked dinner.",
+            "Engineers are testing a new bridge design that withstands stronger earthquakes.",
+            "He didn't know whether the meetings had been cancelled or merely postponed.",
+            "Several museums reopened their galleries after months of careful restoration.");
+
+    private static POSService posService;
+    private static Preprocessor preprocessor;
+
+    @BeforeAll
+    static void createPipeline() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpenNLPModels models = new OpenNLPModels(meterRegistry);
+        posService = new POSService(models, POOL_SIZE);
+        // No lemma cache, so every lemma goes through the pooled lemmatizers
+        LemmatizationService lemmatizationService =
+                new LemmatizationService(posService, models, meterRegistry, POOL_SIZE, 0);
+        LexiconService lexiconService = new LexiconService(new CSVLoaderService(), "", Duration.ZERO);
+        preprocessor = new Preprocessor(lexiconService, lemmatizationService, posService, models,
+                new PipelineMetrics(meterRegistry), POOL_SIZE);
+    }
+
+    @Test
+    void concurrentAnnotationMatchesSingleThreadedRun() throws Exception {
+        List<AnnotatedSentence> expected = new ArrayList<>();
+        for (String sentence : SENTENCES) {
+            expected.add(preprocessor.annotate(sentence));
+        }
+
+        List<AnnotatedSentence[]> results = runConcurrently(thread -> {
+            AnnotatedSentence[] annotated = new AnnotatedSentence[SENTENCES.size()];
+            for (int round = 0; round < ROUNDS; round++) {
+                for (int i = 0; i < SENTENCES.size(); i++) {
+                    // Threads start at different sentences so the pools see mixed inputs
+                    int index = (i + thread) % SENTENCES.size();
+                    AnnotatedSentence sentence = preprocessor.annotate(SENTENCES.get(index));
+                    annotated[index] = sentence;
+                }
+            }
+            return annotated;
+        });
+
+        for (AnnotatedSentence[] annotated : results) {
+            for (int i = 0; i < expected.size(); i++) {
+                assertSameAnnotation(expected.get(i), annotated[i]);
+            }
+        }
+    }
+
+    @Test
+    void concurrentTaggingMatchesSingleThreadedRun() throws Exception {
+        List<String[]> tokens = new ArrayList<>();
+        List<String[]> expected = new ArrayList<>();
+        for (String sentence : SENTENCES) {
+            String[] words = sentence.replaceAll("\\p{Punct}", " ").trim().split("\\s+");
+            tokens.add(words);
+            expected.add(posService.getPartsOfSpeech(words));
+        }
+
+        List<List<String[]>> results = runConcurrently(thread -> {
+            List<String[]> tags = new ArrayList<>();
+            for (int round = 0; round < ROUNDS; round++) {
+                tags.clear();
+                for (String[] words : tokens) {
+                    tags.add(posService.getPartsOfSpeech(words));
+                }
+            }
+            return tags;
+        });
+
+        for (List<String[]> tags : results) {
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals(expected.get(i), tags.get(i), "sentence " + i);
+            }
+        }
+    }
+
+    private static void assertSameAnnotation(AnnotatedSentence expected, AnnotatedSentence actual) {
+        assertEquals(expected.getText(), actual.getText());
+        assertEquals(expected.getTokenCount(), actual.getTokenCount(), expected.getText());
+        for (int i = 0; i < expected.getTokenCount(); i++) {
+            assertEquals(expected.getToken(i), actual.getToken(i), expected.getText());
+            assertEquals(expected.getPosTag(i), actual.getPosTag(i), expected.getText());
+            assertEquals(expected.getLemma(i), actual.getLemma(i), expected.getText());
+            assertEquals(expected.isStopword(i), actual.isStopword(i), expected.getText());
+        }
+    }
+
+    private static <R> List<R> runConcurrently(ThreadTask<R> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<R>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.run(thread);
+                }));
+            }
+            start.countDown();
+            List<R> results = new ArrayList<>();
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThreadTask<R> {
+        R run(int thread);
+    }
+}
@@ -0,0 +1,28 @@
+package com.summary.eSummarizer.Service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchSummarizationServiceTest {
+
+    @Test
+    void defaultsToHalfTheAdmissionSlots() {
+        assertEquals(4, BatchSummarizationService.resolveParallelism(0, 8));
+        assertEquals(1, BatchSummarizationService.resolveParallelism(0, 3));
+        assertEquals(1, BatchSummarizationService.resolveParallelism(0, 2));
+    }
+
+    @Test
+    void leavesAtLeastOneSlotToInteractiveRequests() {
+        assertEquals(7, BatchSummarizationService.resolveParallelism(64, 8));
+        assertEquals(3, BatchSummarizationService.resolveParallelism(3, 8));
+        assertEquals(1, BatchSummarizationService.resolveParallelism(4, 2));
+    }
+
+    @Test
+    void runsOneDocumentWhenThereIsOnlyOneSlot() {
+        assertEquals(1, BatchSummarizationService.resolveParallelism(0, 1));
+        assertEquals(1, BatchSummarizationService.resolveParallelism(4, 1));
+    }
+}
@@ -0,0 +1,123 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.Preprocessor;
+import com.summary.eSummarizer.Service.LemmatizationService;
+import com.summary.eSummarizer.Service.LexiconService;
+import com.summary.eSummarizer.Service.OpenNLPModels;
+import com.summary.eSummarizer.Service.POSService;
+import com.summary.eSummarizer.Utils.CSVLoaderService;
+import com.summary.eSummarizer.Utils.PipelineMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DocumentSnapshotTest {
+
+    private static final String FIRST = "Solar panels convert sunlight into electricity.";
+    private static final String SECOND = "Wind turbines generate electricity from moving air.";
+    private static final String THIRD = "Batteries store electricity for cloudy and calm days.";
+    private static final String FOURTH = "Grid operators balance supply and demand every second.";
+    private static final String EDITED = "Hydro dams release stored water to generate electricity.";
+
+    private static TextRankSummarizer summarizer;
+
+    @BeforeAll
+    static void createSummarizer() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OpenNLPModels models = new OpenNLPModels(meterRegistry);
+        POSService posService = new POSService(models, 1);
+        LemmatizationService lemmatizationService = new LemmatizationService(posService, models, meterRegistry, 1, 0);
+        LexiconService lexiconService = new LexiconService(new CSVLoaderService(), "", Duration.ZERO);
+        PipelineMetrics metrics = new PipelineMetrics(meterRegistry);
+        Preprocessor preprocessor = new Preprocessor(lexiconService, lemmatizationService, posService, models, metrics, 1);
+        summarizer = new TextRankSummarizer(preprocessor, metrics, IdfTable.EMPTY);
+    }
+
+    @Test
+    void firstVersionReusesNothing() {
+        DocumentSnapshot snapshot = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        assertEquals(4, snapshot.getSentenceCount());
+        assertEquals(0, snapshot.getReusedSentences());
+        assertTrue(snapshot.hasAnnotations());
+        assertNotNull(snapshot.getSummary().getSummarizedText());
+    }
+
+    @Test
+    void editedVersionReusesUnchangedSentences() {
+        DocumentSnapshot previous = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        DocumentSnapshot next = summarize(previous, FIRST, EDITED, THIRD, FOURTH);
+
+        assertEquals(3, next.getReusedSentences());
+        assertSame(previous.annotation(FIRST), next.annotation(FIRST));
+        assertSame(previous.annotation(FOURTH), next.annotation(FOURTH));
+        assertNotNull(next.annotation(EDITED));
+        assertNull(next.annotation(SECOND));
+    }
+
+    @Test
+    void reorderedSentencesAreStillReused() {
+        DocumentSnapshot previous = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        DocumentSnapshot next = summarize(previous, FOURTH, THIRD, SECOND, FIRST);
+
+        assertEquals(4, next.getReusedSentences());
+        assertSame(previous.annotation(SECOND), next.annotation(SECOND));
+    }
+
+    @Test
+    void editedVersionKeepsTheSessionIdfAndThreshold() {
+        DocumentSnapshot previous = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        DocumentSnapshot next = summarize(previous, FIRST, SECOND, THIRD, FOURTH, EDITED);
+
+        assertTrue(next.hasGraph());
+        assertEquals(5, next.getGraph().size());
+        assertEquals(previous.getSimilarityThreshold(), next.getSimilarityThreshold());
+        assertEquals(Math.log(4.0 / 2), previous.getTermIdf().get("solar"), 1e-9);
+        assertEquals(previous.getTermIdf().get("solar"), next.getTermIdf().get("solar"));
+        assertEquals(Math.log(5.0 / 2), next.getTermIdf().get("hydro"), 1e-9);
+    }
+
+    @Test
+    void mostlyRewrittenVersionRepinsTheIdf() {
+        DocumentSnapshot previous = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        DocumentSnapshot next = summarize(previous, FIRST, EDITED, SECOND.toUpperCase());
+
+        assertEquals(Math.log(3.0 / 2), next.getTermIdf().get("solar"), 1e-9);
+    }
+
+    @Test
+    void looksUpScoresByExactText() {
+        DocumentSnapshot snapshot = summarize(null, FIRST, SECOND, THIRD, FOURTH);
+
+        assertFalse(Double.isNaN(snapshot.pageRankScore(THIRD)));
+        assertTrue(snapshot.pageRankScore(THIRD) > 0);
+        assertTrue(Double.isNaN(snapshot.pageRankScore(EDITED)));
+        assertTrue(Double.isNaN(snapshot.pageRankScore(THIRD.toUpperCase())));
+    }
+
+    @Test
+    void sizeGrowsWithTheDocument() {
+        DocumentSnapshot small = summarize(null, FIRST, SECOND);
+        DocumentSnapshot large = summarize(null, FIRST, SECOND, THIRD, FOURTH, EDITED);
+
+        assertTrue(small.estimateSize() > 0);
+        assertTrue(large.estimateSize() > small.estimateSize());
+    }
+
+    private static DocumentSnapshot summarize(DocumentSnapshot previous, String... sentences) {
+        return summarizer.summarize(String.join(" ", sentences), false, previous);
+    }
+}
@@ -0,0 +1,62 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.AnnotatedSentence;
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds preprocessed documents for tests without the OpenNLP models: every
+ * space-separated word of a sentence is a content token and its own lemma.
+ */
+final class Documents {
+
+    private Documents() {
+    }
+
+    static List<AnnotatedSentence> annotate(String... sentences) {
+        List<AnnotatedSentence> annotated = new ArrayList<>(sentences.length);
+        for (String sentence : sentences) {
+            String[] words = sentence.isEmpty() ? new String[0] : sentence.split(" ");
+            int[] starts = new int[words.length];
+            int[] ends = new int[words.length];
+            int position = 0;
+            for (int i = 0; i < words.length; i++) {
+                starts[i] = position;
+                ends[i] = position + words[i].length();
+                position = ends[i] + 1;
+            }
+            String[] tags = new String[words.length];
+            Arrays.fill(tags, "NN");
+            annotated.add(new AnnotatedSentence(sentence, starts, ends, tags, words, new boolean[words.length]));
+        }
+        return annotated;
+    }
+
+    static InvertedIndex index(String... sentences) {
+        return InvertedIndex.build(TokenStream.of(annotate(sentences)), IdfTable.EMPTY);
+    }
+
+    /**
+     * Returns sentences of 3 to 10 words drawn from a vocabulary of {@code vocabularySize} words.
+     */
+    static String[] random(int count, int vocabularySize, long seed) {
+        Random random = new Random(seed);
+        String[] sentences = new String[count];
+        for (int s = 0; s < count; s++) {
+            StringBuilder sentence = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int w = 0; w < length; w++) {
+                if (w > 0) {
+                    sentence.append(' ');
+                }
+                sentence.append('w').append(random.nextInt(vocabularySize));
+            }
+            sentences[s] = sentence.toString();
+        }
+        return sentences;
+    }
+}
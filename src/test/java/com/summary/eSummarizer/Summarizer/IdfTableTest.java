@@ -0,0 +1,137 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdfTableTest {
+
+    private Path directory;
+
+    @BeforeEach
+    void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("idf-table");
+    }
+
+    @AfterEach
+    void deleteDirectory() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void writesAndMapsTerms() throws IOException {
+        Map<String, Integer> frequencies = new HashMap<>();
+        frequencies.put("apple", 9);
+        frequencies.put("banana", 1);
+        frequencies.put("b", 4);
+        frequencies.put("bananas", 2);
+        frequencies.put("naïve", 3);
+        Path file = directory.resolve("idf.bin");
+
+        IdfTable.write(file, frequencies, 100);
+        IdfTable table = IdfTable.open(file);
+
+        assertEquals(5, table.termCount());
+        assertEquals(100, table.documentCount());
+        assertFalse(table.isEmpty());
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            assertEquals((float) Math.log(100.0 / (entry.getValue() + 1)), table.idf(entry.getKey()), entry.getKey());
+        }
+        // Lookups take any CharSequence, not only Strings
+        assertEquals(table.idf("banana"), table.idf(new StringBuilder("banana")));
+    }
+
+    @Test
+    void missingTermsAreNaN() throws IOException {
+        Path file = directory.resolve("idf.bin");
+        IdfTable.write(file, Map.of("banana", 1, "cherry", 2), 10);
+        IdfTable table = IdfTable.open(file);
+
+        for (String term : List.of("", "a", "ban", "bananas", "Banana", "zebra")) {
+            assertTrue(Float.isNaN(table.idf(term)), term);
+        }
+        assertTrue(Float.isNaN(IdfTable.EMPTY.idf("banana")));
+        assertTrue(IdfTable.EMPTY.isEmpty());
+    }
+
+    @Test
+    void rewritingReplacesTheTable() throws IOException {
+        Path file = directory.resolve("idf.bin");
+        IdfTable.write(file, Map.of("old", 1), 10);
+        IdfTable.write(file, Map.of("new", 1), 20);
+
+        IdfTable table = IdfTable.open(file);
+
+        assertTrue(Float.isNaN(table.idf("old")));
+        assertEquals((float) Math.log(20.0 / 2), table.idf("new"));
+        try (Stream<Path> paths = Files.list(directory)) {
+            // The temporary file was moved into place, not left behind
+            assertEquals(List.of(file), paths.toList());
+        }
+    }
+
+    @Test
+    void rejectsOtherFiles() throws IOException {
+        Path file = directory.resolve("idf.bin");
+        Files.write(file, "not an idf table".getBytes());
+
+        assertThrows(IOException.class, () -> IdfTable.open(file));
+    }
+
+    @Test
+    void rejectsTruncatedTables() throws IOException {
+        Path file = directory.resolve("idf.bin");
+        IdfTable.write(file, Map.of("apple", 1, "banana", 2), 10);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+
+        assertThrows(IOException.class, () -> IdfTable.open(file));
+    }
+
+    @Test
+    void unseenTermsUseInDocumentIdfOnTheCorpusScale() throws IOException {
+        Path file = directory.resolve("idf.bin");
+        IdfTable.write(file, Map.of("common", 999, "rare", 1), 1000);
+        IdfTable table = IdfTable.open(file);
+
+        InvertedIndex index = InvertedIndex.build(
+                TokenStream.of(Documents.annotate("common unseen", "rare", "common", "common")), table);
+
+        SparseVector first = index.getVectors().get(0);
+        int common = index.getVocabulary().intern("common");
+        int unseen = index.getVocabulary().intern("unseen");
+        // log(4 / 2) in the document, scaled by log(1000) / log(4)
+        assertEquals((float) (Math.log(2) * Math.log(1000) / Math.log(4)), weightOf(first, unseen), 1e-5f);
+        assertTrue(weightOf(first, unseen) > weightOf(first, common));
+        assertTrue(weightOf(first, unseen) < table.idf("rare"));
+    }
+
+    private static float weightOf(SparseVector vector, int termId) {
+        for (int k = 0; k < vector.size(); k++) {
+            if (vector.termId(k) == termId) {
+                return vector.weight(k);
+            }
+        }
+        return 0.0f;
+    }
+}
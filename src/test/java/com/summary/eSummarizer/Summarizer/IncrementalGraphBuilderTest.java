@@ -0,0 +1,96 @@
+package com.summary.eSummarizer.Summarizer;
+
+import com.summary.eSummarizer.Preprocessor.TokenStream;
+import com.summary.eSummarizer.Preprocessor.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IncrementalGraphBuilderTest {
+
+    @Test
+    void updatedGraphMatchesRebuildUnderPinnedIdfAndThreshold() {
+        String[] first = Documents.random(120, 40, 7L);
+        InvertedIndex firstIndex = Documents.index(first);
+        SimilarityMatrix firstSimilarities = SimilarityMatrix.compute(firstIndex);
+        double threshold = firstSimilarities.percentile(0.5);
+        SentenceGraph firstGraph = SentenceGraph.fromSimilarities(firstSimilarities, threshold);
+
+        // Rewrite a few sentences with partly new terms, delete one, insert one and swap two
+        List<String> edited = new ArrayList<>(Arrays.asList(first));
+        String[] rewrites = Documents.random(6, 60, 8L);
+        for (int k = 0; k < 5; k++) {
+            edited.set(10 + 20 * k, rewrites[k]);
+        }
+        edited.remove(55);
+        edited.add(70, rewrites[5]);
+        Collections.swap(edited, 3, 90);
+        String[] second = edited.toArray(new String[0]);
+
+        InvertedIndex secondIndex = InvertedIndex.build(
+                TokenStream.of(Documents.annotate(second)), IdfTable.EMPTY, termIdf(firstIndex));
+        SentenceGraph expected = SentenceGraph.fromSimilarities(SimilarityMatrix.compute(secondIndex), threshold);
+        SentenceGraph graph = IncrementalGraphBuilder.update(firstGraph, previousIds(first, second), secondIndex,
+                threshold);
+
+        assertEquals(expected.size(), graph.size());
+        assertEquals(expected.edgeCount(), graph.edgeCount());
+        for (int i = 0; i < graph.size(); i++) {
+            assertArrayEquals(neighbors(expected, i), neighbors(graph, i), "row " + i);
+        }
+    }
+
+    @Test
+    void unchangedDocumentKeepsEveryEdge() {
+        String[] sentences = Documents.random(60, 25, 9L);
+        InvertedIndex index = Documents.index(sentences);
+        SimilarityMatrix similarities = SimilarityMatrix.compute(index);
+        double threshold = similarities.percentile(0.5);
+        SentenceGraph expected = SentenceGraph.fromSimilarities(similarities, threshold);
+
+        SentenceGraph graph = IncrementalGraphBuilder.update(expected, previousIds(sentences, sentences), index,
+                threshold);
+
+        for (int i = 0; i < graph.size(); i++) {
+            assertArrayEquals(neighbors(expected, i), neighbors(graph, i), "row " + i);
+        }
+    }
+
+    private static Map<String, Double> termIdf(InvertedIndex index) {
+        Vocabulary vocabulary = index.getVocabulary();
+        Map<String, Double> termIdf = new HashMap<>();
+        for (int t = 0; t < vocabulary.size(); t++) {
+            termIdf.put(vocabulary.term(t), index.idf(t));
+        }
+        return termIdf;
+    }
+
+    private static int[] previousIds(String[] previous, String[] current) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = previous.length - 1; i >= 0; i--) {
+            index.put(previous[i], i);
+        }
+        int[] previousIds = new int[current.length];
+        for (int i = 0; i < current.length; i++) {
+            Integer id = index.remove(current[i]);
+            previousIds[i] = id == null ? -1 : id;
+        }
+        return previousIds;
+    }
+
+    private static int[] neighbors(SentenceGraph graph, int node) {
+        int[] neighbors = new int[graph.degree(node)];
+        for (int k = graph.neighborStart(node); k < graph.neighborEnd(node); k++) {
+            neighbors[k - graph.neighborStart(node)] = graph.neighborAt(k);
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,77 @@
+package com.summary.eSummarizer.Summarizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashGraphBuilderTest {
+
+    @Test
+    void keepsOnlyCandidatePairsAboveThreshold() {
+        List<SparseVector> vectors = Documents.index(Documents.random(300, 80, 7L)).getVectors();
+        MinHashGraphBuilder.Result result = new MinHashGraphBuilder(32, 2, 50, 42L).build(vectors, 0.9);
+        SentenceGraph graph = result.getGraph();
+
+        assertEquals(vectors.size(), graph.size());
+        for (int i = 0; i < graph.size(); i++) {
+            for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                int j = graph.neighborAt(k);
+                assertTrue(vectors.get(i).cosineSimilarity(vectors.get(j)) > result.getThreshold(),
+                        "edge " + i + "," + j + " is below the threshold");
+                assertTrue(graph.hasEdge(j, i), "edge " + i + "," + j + " is not symmetric");
+            }
+        }
+        assertTrue(result.getCandidatePairs() >= graph.edgeCount() / 2);
+        assertTrue(result.getRecall() >= 0.0 && result.getRecall() <= 1.0);
+    }
+
+    @Test
+    void connectsIdenticalSentences() {
+        List<String> sentences = new ArrayList<>(List.of(Documents.random(200, 500, 8L)));
+        sentences.set(150, sentences.get(10));
+        List<SparseVector> vectors = Documents.index(sentences.toArray(String[]::new)).getVectors();
+
+        MinHashGraphBuilder.Result result = new MinHashGraphBuilder(16, 4, 0, 42L).build(vectors, 0.5);
+
+        // Identical term sets have identical signatures, so they share every bucket
+        assertTrue(result.getGraph().hasEdge(10, 150));
+        assertTrue(Double.isNaN(result.getRecall()));
+    }
+
+    @Test
+    void sentencesWithoutTermsStayIsolated() {
+        List<SparseVector> vectors = new ArrayList<>(Documents.index(Documents.random(50, 20, 9L)).getVectors());
+        vectors.set(3, SparseVector.EMPTY);
+
+        SentenceGraph graph = new MinHashGraphBuilder(32, 2, 0, 42L).build(vectors, 0.5).getGraph();
+
+        assertEquals(0, graph.degree(3));
+    }
+
+    @Test
+    void sameSeedBuildsTheSameGraph() {
+        List<SparseVector> vectors = Documents.index(Documents.random(120, 40, 10L)).getVectors();
+
+        SentenceGraph first = new MinHashGraphBuilder(32, 2, 0, 42L).build(vectors, 0.8).getGraph();
+        SentenceGraph second = new MinHashGraphBuilder(32, 2, 0, 42L).build(vectors, 0.8).getGraph();
+
+        assertEquals(first.edgeCount(), second.edgeCount());
+        for (int i = 0; i < first.size(); i++) {
+            for (int k = first.neighborStart(i); k < first.neighborEnd(i); k++) {
+                assertTrue(second.hasEdge(i, first.neighborAt(k)));
+            }
+        }
+    }
+
+    @Test
+    void rejectsEmptyBands() {
+        assertThrows(IllegalArgumentException.class, () -> new MinHashGraphBuilder(0, 2, 0, 42L));
+        assertFalse(new MinHashGraphBuilder(1, 1, 0, 42L).build(List.of(), 0.5).getGraph().size() > 0);
+    }
+}
@@ -0,0 +1,57 @@
+package com.summary.eSummarizer.Summarizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SelectionTest {
+
+    @Test
+    void selectReturnsKthSmallest() {
+        Random random = new Random(6L);
+        for (int length = 1; length <= 40; length++) {
+            float[] values = new float[length];
+            for (int i = 0; i < length; i++) {
+                // Few distinct values, so partitions contain long runs of equal elements
+                values[i] = random.nextInt(5);
+            }
+            float[] sorted = values.clone();
+            Arrays.sort(sorted);
+            for (int k = 0; k < length; k++) {
+                assertEquals(sorted[k], Selection.select(values.clone(), k), "length " + length + ", k " + k);
+            }
+        }
+    }
+
+    @Test
+    void selectHandlesMostlyZeros() {
+        float[] values = new float[10_000];
+        values[17] = 0.5f;
+        values[4242] = 0.25f;
+        values[9999] = 0.75f;
+
+        assertEquals(0.0f, Selection.select(values.clone(), 9996));
+        assertEquals(0.25f, Selection.select(values.clone(), 9997));
+        assertEquals(0.5f, Selection.select(values.clone(), 9998));
+        assertEquals(0.75f, Selection.select(values.clone(), 9999));
+    }
+
+    @Test
+    void percentileIndexesSortedOrder() {
+        float[] values = {0.9f, 0.1f, 0.5f, 0.3f, 0.7f};
+
+        assertEquals(0.1f, Selection.percentile(values.clone(), 0.0), 0.0);
+        assertEquals(0.5f, Selection.percentile(values.clone(), 0.5), 0.0);
+        assertEquals(0.7f, Selection.percentile(values.clone(), 0.75), 0.0);
+        // Percentiles that round to the end are clamped to the largest value
+        assertEquals(0.9f, Selection.percentile(values.clone(), 1.0), 0.0);
+    }
+
+    @Test
+    void percentileOfNothingIsZero() {
+        assertEquals(0.0, Selection.percentile(new float[0], 0.5));
+    }
+}
@@ -0,0 +1,122 @@
+package com.summary.eSummarizer.Summarizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SentenceGraphTest {
+
+    @Test
+    void connectsPairsAboveThresholdInAscendingRows() {
+        SimilarityMatrix similarities = SimilarityMatrix.compute(Documents.index(Documents.random(80, 30, 3L)));
+        double threshold = similarities.percentile(0.8);
+        SentenceGraph graph = SentenceGraph.fromSimilarities(similarities, threshold);
+
+        int directedEdges = 0;
+        for (int i = 0; i < graph.size(); i++) {
+            for (int k = graph.neighborStart(i) + 1; k < graph.neighborEnd(i); k++) {
+                assertTrue(graph.neighborAt(k - 1) < graph.neighborAt(k), "row " + i + " is not ascending");
+            }
+            for (int j = 0; j < graph.size(); j++) {
+                boolean expected = i != j && similarities.get(i, j) > threshold;
+                assertEquals(expected, graph.hasEdge(i, j), "edge " + i + "," + j);
+            }
+            directedEdges += graph.degree(i);
+        }
+        assertEquals(directedEdges, graph.edgeCount());
+    }
+
+    @Test
+    void edgeListBuildsTheSameRows() {
+        SimilarityMatrix similarities = SimilarityMatrix.compute(Documents.index(Documents.random(50, 25, 4L)));
+        double threshold = similarities.percentile(0.7);
+        SentenceGraph expected = SentenceGraph.fromSimilarities(similarities, threshold);
+
+        long[] edges = new long[expected.edgeCount() / 2];
+        int count = 0;
+        for (int i = 0; i < expected.size(); i++) {
+            for (int k = expected.neighborStart(i); k < expected.neighborEnd(i); k++) {
+                int j = expected.neighborAt(k);
+                if (i < j) {
+                    edges[count++] = ((long) i << 32) | j;
+                }
+            }
+        }
+        SentenceGraph graph = SentenceGraph.fromEdges(expected.size(), edges, count);
+
+        assertEquals(expected.size(), graph.size());
+        assertEquals(expected.edgeCount(), graph.edgeCount());
+        for (int i = 0; i < graph.size(); i++) {
+            assertArrayEquals(neighbors(expected, i), neighbors(graph, i), "row " + i);
+        }
+    }
+
+    @Test
+    void stepAppliesDampedPageRankUpdate() {
+        // Path 0 - 1 - 2 plus the isolated node 3
+        SentenceGraph graph = SentenceGraph.fromEdges(4, new long[]{1L, (1L << 32) | 2}, 2);
+        double[] current = {1.0, 1.0, 1.0, 1.0};
+        double[] next = new double[4];
+
+        double maxDiff = graph.step(current, next, 0.85);
+
+        assertEquals(0.15 + 0.85 * 0.5, next[0], 1e-12);
+        assertEquals(0.15 + 0.85 * 2.0, next[1], 1e-12);
+        assertEquals(0.15 + 0.85 * 0.5, next[2], 1e-12);
+        assertEquals(0.15, next[3], 1e-12);
+        assertEquals(0.85, maxDiff, 1e-12);
+    }
+
+    @Test
+    void parallelStepMatchesSequentialUpdate() {
+        // Large enough to be split into row blocks on the fork-join pool
+        int n = 5000;
+        Random random = new Random(5L);
+        long[] edges = new long[n * 3];
+        for (int e = 0; e < edges.length; e++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            edges[e] = i == j ? 1L : ((long) Math.min(i, j) << 32) | Math.max(i, j);
+        }
+        Arrays.sort(edges);
+        int count = 0;
+        for (long edge : edges) {
+            if (count == 0 || edge != edges[count - 1]) {
+                edges[count++] = edge;
+            }
+        }
+        SentenceGraph graph = SentenceGraph.fromEdges(n, edges, count);
+        double[] current = new double[n];
+        for (int i = 0; i < n; i++) {
+            current[i] = random.nextDouble();
+        }
+
+        double[] next = new double[n];
+        double maxDiff = graph.step(current, next, 0.85);
+
+        double expectedMaxDiff = 0.0;
+        for (int i = 0; i < n; i++) {
+            double expected = 0.15;
+            for (int k = graph.neighborStart(i); k < graph.neighborEnd(i); k++) {
+                int neighbor = graph.neighborAt(k);
+                expected += 0.85 * (current[neighbor] / graph.degree(neighbor));
+            }
+            assertEquals(expected, next[i], 1e-12, "node " + i);
+            expectedMaxDiff = Math.max(expectedMaxDiff, Math.abs(expected - current[i]));
+        }
+        assertEquals(expectedMaxDiff, maxDiff, 1e-12);
+    }
+
+    private static int[] neighbors(SentenceGraph graph, int node) {
+        int[] neighbors = new int[graph.degree(node)];
+        for (int k = 0; k < neighbors.length; k++) {
+            neighbors[k] = graph.neighborAt(graph.neighborStart(node) + k);
+        }
+        return neighbors;
+    }
+}
@@ -0,0 +1,65 @@
+package com.summary.eSummarizer.Summarizer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SimilarityMatrixTest {
+
+    @Test
+    void packedEntriesMatchPairwiseCosine() {
+        // More sentences than one row block, so rows are filled by several parallel tasks
+        InvertedIndex index = Documents.index(Documents.random(150, 60, 1L));
+        SimilarityMatrix matrix = SimilarityMatrix.compute(index);
+        List<SparseVector> vectors = index.getVectors();
+
+        assertEquals(150, matrix.size());
+        for (int i = 0; i < matrix.size(); i++) {
+            for (int j = i + 1; j < matrix.size(); j++) {
+                double expected = vectors.get(i).cosineSimilarity(vectors.get(j));
+                assertEquals(expected, matrix.get(i, j), 1e-6, "pair " + i + "," + j);
+                assertEquals(matrix.get(i, j), matrix.get(j, i));
+            }
+        }
+    }
+
+    @Test
+    void sentencesWithoutSharedTermsAreZero() {
+        SimilarityMatrix matrix = SimilarityMatrix.compute(Documents.index("a b", "c d", "a c", "e f"));
+
+        assertEquals(0.0f, matrix.get(0, 1));
+        assertEquals(0.0f, matrix.get(1, 3));
+        assertEquals(0.0f, matrix.get(2, 3));
+    }
+
+    @Test
+    void percentileSelectsFromAllPairs() {
+        SimilarityMatrix matrix = SimilarityMatrix.compute(Documents.index(Documents.random(40, 20, 2L)));
+        int n = matrix.size();
+        float[] pairs = new float[n * (n - 1) / 2];
+        int k = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                pairs[k++] = matrix.get(i, j);
+            }
+        }
+        Arrays.sort(pairs);
+
+        for (double percentile : new double[]{0.0, 0.25, 0.5, 0.9, 0.99}) {
+            assertEquals(pairs[(int) (pairs.length * percentile)], matrix.percentile(percentile), 0.0);
+        }
+        // The percentile works on a copy, so asking twice gives the same answer
+        assertEquals(matrix.percentile(0.5), matrix.percentile(0.5));
+    }
+
+    @Test
+    void singleSentenceHasNoPairs() {
+        SimilarityMatrix matrix = SimilarityMatrix.compute(Documents.index("only one sentence"));
+
+        assertEquals(1, matrix.size());
+        assertEquals(0.0, matrix.percentile(0.5));
+    }
+}
@@ -0,0 +1,36 @@
+package com.summary.eSummarizer.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class ContentHashTest {
+
+    @Test
+    void normalizeCollapsesAndTrimsWhitespace() {
+        assertEquals("a b c", ContentHash.normalize("  a \t\n b\r\n\n   c  "));
+        assertEquals("a b", ContentHash.normalize("a b"));
+        assertEquals("", ContentHash.normalize(" \n\t "));
+        assertEquals("", ContentHash.normalize(""));
+    }
+
+    @Test
+    void hashesNormalizedTextAndParameters() {
+        // SHA-256 of "a b", a zero byte, then "k=1"
+        assertEquals("ab04267253bfd42b1e8e81465230cb775c3a3c0e31873534d28a615ce8852d87", ContentHash.of("\n a   b ", "k=1"));
+    }
+
+    @Test
+    void reformattedTextSharesKey() {
+        assertEquals(ContentHash.of("One sentence.  Two sentences.", "p"),
+                ContentHash.of("One sentence.\n\nTwo sentences.\n", "p"));
+    }
+
+    @Test
+    void textAndParametersAreSeparated() {
+        assertNotEquals(ContentHash.of("ab", "c"), ContentHash.of("a", "bc"));
+        assertNotEquals(ContentHash.of("text", "include=summary"), ContentHash.of("text", "include=graph"));
+        assertNotEquals(ContentHash.of("Text", "p"), ContentHash.of("text", "p"));
+    }
+}
@@ -0,0 +1,99 @@
+package com.summary.eSummarizer.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InstancePoolTest {
+
+    private static final int THREADS = 32;
+    private static final int CALLS_PER_THREAD = 500;
+
+    @Test
+    void neverLeasesMoreInstancesThanPermits() throws Exception {
+        int maxSize = 3;
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Lease> pool = new InstancePool<>(maxSize, () -> {
+            created.incrementAndGet();
+            return new Lease();
+        });
+        AtomicInteger inUse = new AtomicInteger();
+        AtomicInteger maxInUse = new AtomicInteger();
+
+        runConcurrently(() -> {
+            for (int call = 0; call < CALLS_PER_THREAD; call++) {
+                pool.withInstance(lease -> {
+                    // Each instance must be used by one caller at a time
+                    assertTrue(lease.busy.compareAndSet(false, true), "instance leased twice");
+                    maxInUse.accumulateAndGet(inUse.incrementAndGet(), Math::max);
+                    Thread.onSpinWait();
+                    inUse.decrementAndGet();
+                    lease.busy.set(false);
+                    return null;
+                });
+            }
+        });
+
+        assertTrue(maxInUse.get() <= maxSize, "leased " + maxInUse.get() + " instances at once");
+        assertTrue(created.get() <= maxSize, "created " + created.get() + " instances");
+        assertEquals(0, inUse.get());
+    }
+
+    @Test
+    void returnsInstanceWhenWorkFails() {
+        AtomicInteger created = new AtomicInteger();
+        InstancePool<Lease> pool = new InstancePool<>(1, () -> {
+            created.incrementAndGet();
+            return new Lease();
+        });
+
+        assertThrows(IllegalStateException.class, () -> pool.withInstance(lease -> {
+            throw new IllegalStateException("failed");
+        }));
+        // The permit and the instance were both returned, so this neither blocks nor creates another
+        assertFalse(pool.<Boolean>withInstance(lease -> lease.busy.get()));
+        assertEquals(1, created.get());
+    }
+
+    @Test
+    void rejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new InstancePool<>(0, Lease::new));
+    }
+
+    private static void runConcurrently(Runnable task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static final class Lease {
+        private final AtomicBoolean busy = new AtomicBoolean();
+    }
+}
@@ -0,0 +1,73 @@
+package com.summary.eSummarizer.Utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexiconTest {
+
+    private final Lexicon lexicon = Lexicon.of(List.of("the", " And ", "of", "", "THE", "naïve", "Über"));
+
+    @Test
+    void normalizesWords() {
+        // Trimmed, lowercased, without blanks or duplicates
+        assertEquals(5, lexicon.size());
+        assertTrue(lexicon.contains("and"));
+    }
+
+    @Test
+    void ignoresCase() {
+        assertTrue(lexicon.contains("the"));
+        assertTrue(lexicon.contains("The"));
+        assertTrue(lexicon.contains("tHE"));
+        assertTrue(lexicon.contains("NAÏVE"));
+        assertTrue(lexicon.contains("über"));
+    }
+
+    @Test
+    void matchesWholeWordsOnly() {
+        assertFalse(lexicon.contains("th"));
+        assertFalse(lexicon.contains("then"));
+        assertFalse(lexicon.contains("naive"));
+        assertFalse(lexicon.contains(""));
+        assertFalse(lexicon.contains("o f"));
+    }
+
+    @Test
+    void looksUpSlices() {
+        String sentence = "Out of The Box";
+        assertFalse(lexicon.contains(sentence, 0, 3));
+        assertTrue(lexicon.contains(sentence, 4, 6));
+        assertTrue(lexicon.contains(sentence, 7, 10));
+        assertFalse(lexicon.contains(sentence, 7, 9));
+        assertFalse(lexicon.contains(sentence, 6, 10));
+        assertTrue(lexicon.contains(new StringBuilder(sentence), 4, 6));
+    }
+
+    @Test
+    void findsEveryWordOfALargeLexicon() {
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            words.add("word" + i);
+        }
+        Lexicon large = Lexicon.of(words);
+
+        assertEquals(words.size(), large.size());
+        for (String word : words) {
+            assertTrue(large.contains(word.toUpperCase()), word);
+        }
+        assertFalse(large.contains("word10000"));
+    }
+
+    @Test
+    void emptyLexiconContainsNothing() {
+        assertEquals(0, Lexicon.EMPTY.size());
+        assertFalse(Lexicon.EMPTY.contains("the"));
+        assertFalse(Lexicon.EMPTY.contains(""));
+    }
+}